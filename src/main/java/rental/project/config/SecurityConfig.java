@@ -3,7 +3,9 @@ package rental.project.config;
 import static org.springframework.security.config.Customizer.withDefaults;
 import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,8 +17,10 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import rental.project.security.BoundedPasswordEncoder;
 import rental.project.security.jwt.JwtAuthFilter;
 
 @Configuration
@@ -27,8 +31,13 @@ public class SecurityConfig {
     private final JwtAuthFilter jwtAuthFilter;
 
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${security.password.bcrypt-strength}") int strength,
+            @Value("${security.password.threads}") int threads,
+            @Value("${security.password.queue-capacity}") int queueCapacity) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength),
+                meterRegistry, threads, queueCapacity);
     }
 
     @Bean
@@ -43,6 +52,8 @@ public class SecurityConfig {
                                         antMatcher("/v3/api-docs/**"),
                                         antMatcher("/payments/success"),
                                         antMatcher("/payments/cancel"),
+                                        antMatcher(HttpMethod.POST, "/payments/webhook"),
+                                        antMatcher(HttpMethod.POST, "/telegram/webhook"),
                                         antMatcher(HttpMethod.GET, "/accommodations/**"))
                                 .permitAll()
                                 .anyRequest()
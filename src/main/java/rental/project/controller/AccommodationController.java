@@ -3,10 +3,15 @@ package rental.project.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
+import java.time.LocalDate;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,12 +21,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import rental.project.dto.accommodation.AccommodationDto;
+import rental.project.dto.accommodation.AccommodationSearchParameters;
+import rental.project.dto.accommodation.AccommodationSearchResultDto;
 import rental.project.dto.accommodation.CreateAccommodationDto;
+import rental.project.dto.accommodation.NearbyAccommodationDto;
 import rental.project.dto.accommodation.UpdateAccommodationDto;
+import rental.project.dto.page.CursorPageDto;
 import rental.project.service.accommodation.AccommodationService;
+import rental.project.utils.ETagUtil;
+import rental.project.utils.GeoUtil;
 
 @Tag(name = "Accommodation controller",
         description = "Accommodations management endpoint")
@@ -48,11 +61,84 @@ public class AccommodationController {
         return accommodationService.findAll(pageable);
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Search accommodations",
+            description = "Search accommodations by location, type, daily rate,"
+                    + " amenities and units, with counts by location and type")
+    public AccommodationSearchResultDto searchAccommodations(
+            @ParameterObject AccommodationSearchParameters parameters,
+            @ParameterObject Pageable pageable) {
+        return accommodationService.search(parameters, pageable);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Scroll accommodations",
+            description = "Get accommodations following the given cursor,"
+                    + " ordered by id")
+    public CursorPageDto<AccommodationDto> scrollAccommodations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return accommodationService.scroll(cursor, size);
+    }
+
+    @GetMapping("/available")
+    @Operation(summary = "Get available accommodations",
+            description = "Get accommodations with enough free units"
+                    + " for the whole given period")
+    public List<AccommodationDto> getAvailableAccommodations(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "1") int units,
+            @ParameterObject Pageable pageable) {
+        return accommodationService.findAvailable(from, to, units, pageable);
+    }
+
+    @GetMapping("/nearby")
+    @Operation(summary = "Get nearby accommodations",
+            description = "Get accommodations within the given radius, nearest first,"
+                    + " optionally only those with enough free units for the period")
+    public List<NearbyAccommodationDto> getNearbyAccommodations(
+            @RequestParam @DecimalMin("-90") @DecimalMax("90") double lat,
+            @RequestParam @DecimalMin("-180") @DecimalMax("180") double lon,
+            @RequestParam @Positive @DecimalMax("500") double radiusKm,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "1") int units,
+            @ParameterObject Pageable pageable) {
+        return accommodationService.findNearby(lat, lon, radiusKm, from, to, units, pageable);
+    }
+
+    @GetMapping("/within")
+    @Operation(summary = "Get accommodations within area",
+            description = "Get accommodations inside the given latitude/longitude box,"
+                    + " nearest to its center first")
+    public List<NearbyAccommodationDto> getAccommodationsWithin(
+            @RequestParam @DecimalMin("-90") @DecimalMax("90") double minLat,
+            @RequestParam @DecimalMin("-180") @DecimalMax("180") double minLon,
+            @RequestParam @DecimalMin("-90") @DecimalMax("90") double maxLat,
+            @RequestParam @DecimalMin("-180") @DecimalMax("180") double maxLon,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "1") int units,
+            @ParameterObject Pageable pageable) {
+        return accommodationService.findWithin(
+                new GeoUtil.BoundingBox(minLat, minLon, maxLat, maxLon),
+                from, to, units, pageable);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get accommodation by id",
             description = "Get accommodation from system by given id")
-    public AccommodationDto getAccommodationById(@PathVariable Long id) {
-        return accommodationService.findByAccommodationId(id);
+    public AccommodationDto getAccommodationById(@PathVariable Long id, WebRequest request) {
+        AccommodationDto accommodationDto = accommodationService.findByAccommodationId(id);
+        if (request.checkNotModified(ETagUtil.of(id, accommodationDto.getVersion()))) {
+            return null;
+        }
+        return accommodationDto;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -2,6 +2,7 @@ package rental.project.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -33,7 +34,8 @@ public class AuthController {
     @PostMapping("/login")
     @Operation(summary = "Login", description = "Login user to receive JWT Token")
     public UserLoginResponseDto login(
-            @Valid @RequestBody UserLoginRequestDto loginRequestDto) {
-        return authService.login(loginRequestDto);
+            @Valid @RequestBody UserLoginRequestDto loginRequestDto,
+            HttpServletRequest request) {
+        return authService.login(loginRequestDto, request.getRemoteAddr());
     }
 }
@@ -20,11 +20,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import rental.project.dto.booking.BookingDto;
 import rental.project.dto.booking.BookingWithAccommodationInfoDto;
 import rental.project.dto.booking.CreateBookingDto;
 import rental.project.dto.booking.UpdateBookingDto;
 import rental.project.dto.booking.UpdateBookingStatusDto;
+import rental.project.dto.page.CursorPageDto;
 import rental.project.model.Booking;
 import rental.project.service.booking.BookingService;
 
@@ -59,19 +61,52 @@ public class BookingController {
         return bookingService.findByUserIdAndStatus(pageable, userId, statuses);
     }
 
+    @PreAuthorize("hasRole('ADMIN') or "
+            + " #userId == @securityUtil.loggedInUserId")
+    @GetMapping("/search/scroll")
+    @Operation(summary = "Scroll searched bookings",
+            description = "Search bookings by user and status following"
+                    + " the given cursor, ordered by id")
+    public CursorPageDto<BookingDto> scrollByUserIdAndStatus(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Booking.BookingStatus[] statuses,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return bookingService.scrollByUserIdAndStatus(userId, statuses, cursor, size);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'CUSTOMER')")
     @GetMapping("/my")
     @Operation(summary = "Get all my bookings",
             description = "Get all bookings for authorized user")
-    public List<BookingDto> getAllMyBookings(@ParameterObject Pageable pageable) {
+    public List<BookingDto> getAllMyBookings(@ParameterObject Pageable pageable,
+                                             WebRequest request) {
+        if (request.checkNotModified(bookingService.getMyBookingsETag(pageable))) {
+            return null;
+        }
         return bookingService.getAllMyBookings(pageable);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'CUSTOMER')")
+    @GetMapping("/my/scroll")
+    @Operation(summary = "Scroll my bookings",
+            description = "Get bookings of authorized user following"
+                    + " the given cursor, ordered by check in date")
+    public CursorPageDto<BookingDto> scrollMyBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return bookingService.scrollMyBookings(cursor, size);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'CUSTOMER')")
     @GetMapping("/{bookingId}")
     @Operation(summary = "Get booking by id",
             description = "Get booking data by given id")
-    public BookingWithAccommodationInfoDto getBookingInfoById(@PathVariable Long bookingId) {
+    public BookingWithAccommodationInfoDto getBookingInfoById(@PathVariable Long bookingId,
+                                                              WebRequest request) {
+        if (request.checkNotModified(bookingService.getBookingETag(bookingId))) {
+            return null;
+        }
         return bookingService.getBookingDetailsById(bookingId);
     }
 
@@ -2,22 +2,32 @@ package rental.project.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import rental.project.dto.page.CursorPageDto;
 import rental.project.dto.payment.CreatePaymentDto;
 import rental.project.dto.payment.PaymentDto;
+import rental.project.service.payment.PaymentExporter;
 import rental.project.service.payment.PaymentService;
+import rental.project.service.payment.StripeWebhookService;
 
 @Tag(name = "Payment controller",
         description = "Payments management endpoint")
@@ -25,7 +35,11 @@ import rental.project.service.payment.PaymentService;
 @RequiredArgsConstructor
 @RequestMapping("/payments")
 public class PaymentController {
+    private static final String EXPORT_CONTENT_TYPE = "text/csv;charset=UTF-8";
+
     private final PaymentService paymentService;
+    private final StripeWebhookService stripeWebhookService;
+    private final PaymentExporter paymentExporter;
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping()
@@ -35,6 +49,17 @@ public class PaymentController {
         return paymentService.getAll(pageable);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    @Operation(summary = "Export all payments",
+            description = "Stream all payments in system as CSV")
+    public void exportPayments(HttpServletResponse response) throws IOException {
+        response.setContentType(EXPORT_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"payments.csv\"");
+        paymentExporter.exportCsv(response.getWriter());
+    }
+
     @PreAuthorize("hasRole('ADMIN') or "
             + " #userId == @securityUtil.loggedInUserId")
     @GetMapping("/user/{userId}")
@@ -42,10 +67,27 @@ public class PaymentController {
             description = "Get payments by user by his id if authorized as that user,"
                     + " or as ADMIN role user")
     public List<PaymentDto> getPaymentsByUserId(@PathVariable Long userId,
-                                                @ParameterObject Pageable pageable) {
+                                                @ParameterObject Pageable pageable,
+                                                WebRequest request) {
+        if (request.checkNotModified(paymentService.getPaymentsETag(pageable, userId))) {
+            return null;
+        }
         return paymentService.getAllByUserId(pageable, userId);
     }
 
+    @PreAuthorize("hasRole('ADMIN') or "
+            + " #userId == @securityUtil.loggedInUserId")
+    @GetMapping("/user/{userId}/scroll")
+    @Operation(summary = "Scroll payments of some user",
+            description = "Get payments of user following the given cursor,"
+                    + " ordered by id")
+    public CursorPageDto<PaymentDto> scrollPaymentsByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return paymentService.scrollByUserId(userId, cursor, size);
+    }
+
     @GetMapping("/success")
     @Operation(summary = "Confirm payment",
             description = "Confirm payment with given session")
@@ -75,4 +117,22 @@ public class PaymentController {
     public PaymentDto createPayment(@RequestBody CreatePaymentDto createPaymentDto) {
         return paymentService.save(createPaymentDto);
     }
+
+    @PostMapping("/webhook")
+    @Operation(summary = "Receive Stripe event",
+            description = "Store signed Stripe event and apply it to payment status")
+    public void receiveWebhook(@RequestBody String payload,
+                               @RequestHeader("Stripe-Signature") String signature) {
+        stripeWebhookService.receive(payload, signature);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/webhook/replay")
+    @Operation(summary = "Replay Stripe events",
+            description = "Apply again Stripe events received since given time")
+    public List<String> replayWebhookEvents(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime from) {
+        return stripeWebhookService.replay(from);
+    }
 }
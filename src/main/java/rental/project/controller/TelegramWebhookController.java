@@ -0,0 +1,49 @@
+package rental.project.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.telegram.telegrambots.meta.api.objects.Update;
+import rental.project.exception.WebhookException;
+import rental.project.telegram.BotRegister;
+import rental.project.telegram.TelegramBot;
+
+@Tag(name = "Telegram webhook controller",
+        description = "Telegram updates endpoint")
+@RestController
+@RequestMapping("/telegram")
+@ConditionalOnProperty(name = "telegram.bot.mode", havingValue = BotRegister.WEBHOOK_MODE)
+public class TelegramWebhookController {
+    private static final String SECRET_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+
+    private final TelegramBot telegramBot;
+    private final byte[] webhookSecret;
+
+    public TelegramWebhookController(TelegramBot telegramBot,
+                                     @Value("${telegram.bot.webhook-secret}")
+                                     String webhookSecret) {
+        this.telegramBot = telegramBot;
+        this.webhookSecret = webhookSecret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @PostMapping("/webhook")
+    @Operation(summary = "Receive Telegram update",
+            description = "Queue update pushed by Telegram for handling")
+    public void receiveUpdate(@RequestBody Update update,
+                              @RequestHeader(value = SECRET_HEADER, required = false)
+                              String secret) {
+        if (secret == null || secret.isBlank() || !MessageDigest.isEqual(webhookSecret,
+                secret.getBytes(StandardCharsets.UTF_8))) {
+            throw new WebhookException("Invalid Telegram webhook secret");
+        }
+        telegramBot.onUpdateReceived(update);
+    }
+}
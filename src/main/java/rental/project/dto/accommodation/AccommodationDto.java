@@ -1,5 +1,6 @@
 package rental.project.dto.accommodation;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.math.BigDecimal;
 import lombok.Data;
 import lombok.experimental.Accessors;
@@ -14,4 +15,6 @@ public class AccommodationDto {
     private String[] amenities;
     private BigDecimal dailyRate;
     private Integer availability;
+    @JsonIgnore
+    private Long version;
 }
@@ -0,0 +1,15 @@
+package rental.project.dto.accommodation;
+
+import java.math.BigDecimal;
+import rental.project.model.Accommodation;
+
+public record AccommodationSearchParameters(
+        String country,
+        String state,
+        String city,
+        Accommodation.AccommodationType type,
+        BigDecimal minDailyRate,
+        BigDecimal maxDailyRate,
+        String[] amenities,
+        Integer minUnits) {
+}
@@ -0,0 +1,10 @@
+package rental.project.dto.accommodation;
+
+import java.util.List;
+import java.util.Map;
+
+public record AccommodationSearchResultDto(
+        List<AccommodationDto> content,
+        long totalElements,
+        Map<String, Map<String, Long>> facets) {
+}
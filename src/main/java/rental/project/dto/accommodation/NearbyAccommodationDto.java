@@ -0,0 +1,6 @@
+package rental.project.dto.accommodation;
+
+public record NearbyAccommodationDto(
+        AccommodationDto accommodation,
+        double distanceKm) {
+}
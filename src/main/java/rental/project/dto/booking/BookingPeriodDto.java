@@ -0,0 +1,10 @@
+package rental.project.dto.booking;
+
+import java.time.LocalDate;
+
+public record BookingPeriodDto(
+        Long bookingId,
+        Long accommodationId,
+        LocalDate checkinDate,
+        LocalDate checkoutDate) {
+}
@@ -0,0 +1,7 @@
+package rental.project.dto.booking;
+
+public record BookingVersionDto(
+        Long userId,
+        long version,
+        Long accommodationVersion) {
+}
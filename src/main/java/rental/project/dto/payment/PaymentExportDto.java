@@ -0,0 +1,13 @@
+package rental.project.dto.payment;
+
+import java.math.BigDecimal;
+import rental.project.model.Payment;
+
+public record PaymentExportDto(
+        Long paymentId,
+        Long bookingId,
+        Long userId,
+        Payment.PaymentStatus status,
+        String sessionId,
+        BigDecimal amount) {
+}
@@ -0,0 +1,6 @@
+package rental.project.dto.payment;
+
+public record PaymentSessionDto(
+        Long paymentId,
+        String sessionId) {
+}
@@ -0,0 +1,4 @@
+package rental.project.dto.user;
+
+public record UserTokenVersionDto(Long id, int tokenVersion) {
+}
@@ -0,0 +1,4 @@
+package rental.project.dto.version;
+
+public record EntityVersionDto(Long id, long version) {
+}
@@ -53,6 +53,27 @@ public class GlobalExceptionHandler {
                 HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(WebhookException.class)
+    public ResponseEntity<Map<String, Object>> handleWebhookException(
+            WebhookException ex) {
+        return new ResponseEntity<>(buildExceptionResponse(ex),
+                HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidCursorException(
+            InvalidCursorException ex) {
+        return new ResponseEntity<>(buildExceptionResponse(ex),
+                HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, Object>> handleTooManyRequestsException(
+            TooManyRequestsException ex) {
+        return new ResponseEntity<>(buildExceptionResponse(ex),
+                HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     @ExceptionHandler(TelegramApiException.class)
     public ResponseEntity<Map<String, Object>> handleTelegramApiException(
             TelegramApiException ex) {
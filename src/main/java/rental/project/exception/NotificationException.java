@@ -0,0 +1,7 @@
+package rental.project.exception;
+
+public class NotificationException extends RuntimeException {
+    public NotificationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package rental.project.exception;
+
+public class WebhookException extends RuntimeException {
+    public WebhookException(String message) {
+        super(message);
+    }
+}
@@ -15,6 +15,7 @@ import rental.project.model.embedded.Address;
 @Mapper(config = MapperConfig.class)
 public interface AccommodationMapper {
     @Mapping(source = "addressDto", target = "address", qualifiedByName = "mapToAddress")
+    @Mapping(target = "version", ignore = true)
     Accommodation toEntity(CreateAccommodationDto createDto);
 
     @Mapping(source = "address", target = "addressDto", qualifiedByName = "mapToAddressDto")
@@ -27,6 +28,7 @@ public interface AccommodationMapper {
     AddressDto toAddressDto(Address createDto);
 
     @Mapping(source = "addressDto", target = "address", qualifiedByName = "mapToAddress")
+    @Mapping(target = "version", ignore = true)
     void updateFromDto(UpdateAccommodationDto dto,
                        @MappingTarget Accommodation accommodation);
 
@@ -16,10 +16,12 @@ public interface BookingMapper {
     @Mapping(source = "userId", target = "user", qualifiedByName = "userFromId")
     @Mapping(source = "accommodationId", target = "accommodation",
             qualifiedByName = "accommodationFromId")
+    @Mapping(target = "version", ignore = true)
     Booking toEntity(CreateBookingDto dto);
 
     @Mapping(source = "userId", target = "user", qualifiedByName = "userFromId")
     @Mapping(source = "accommodation", target = "accommodation")
+    @Mapping(target = "version", ignore = true)
     Booking toEntity(BookingWithAccommodationInfoDto dto);
 
     @Mapping(source = "user.id", target = "userId")
@@ -31,6 +33,7 @@ public interface BookingMapper {
 
     @Mapping(source = "accommodationId", target = "accommodation",
             qualifiedByName = "accommodationFromId")
+    @Mapping(target = "version", ignore = true)
     void updateFromDto(UpdateBookingDto dto,
                        @MappingTarget Booking booking);
 }
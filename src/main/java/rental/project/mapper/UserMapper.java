@@ -1,6 +1,7 @@
 package rental.project.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.Named;
 import rental.project.config.MapperConfig;
@@ -12,12 +13,14 @@ import rental.project.model.User;
 
 @Mapper(config = MapperConfig.class)
 public interface UserMapper {
+    @Mapping(target = "tokenVersion", ignore = true)
     User toUser(UserRegisterRequestDto dto);
 
     UserDto toUserDto(User user);
 
     UserRegisterResponseDto toResponse(User user);
 
+    @Mapping(target = "tokenVersion", ignore = true)
     void updateFromDto(UpdateUserDataDto dto, @MappingTarget User user);
 
     @Named("userFromId")
@@ -10,7 +10,9 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -26,7 +28,7 @@ import rental.project.utils.StringArrayConverter;
 @NoArgsConstructor
 @Accessors(chain = true)
 @SQLDelete(sql = "UPDATE accommodations "
-        + "SET is_deleted = true WHERE id = ?")
+        + "SET is_deleted = true WHERE id = ? AND version = ?")
 @SQLRestriction(value = "is_deleted = false")
 @Table(name = "accommodations")
 public class Accommodation {
@@ -48,6 +50,10 @@ public class Accommodation {
     @Column(length = 10)
     private String[] amenities;
 
+    @Setter(AccessLevel.NONE)
+    @Column(nullable = false)
+    private long amenityMask;
+
     @Column(nullable = false)
     private BigDecimal dailyRate;
 
@@ -57,6 +63,16 @@ public class Accommodation {
     @Column(nullable = false, columnDefinition = "TINYINT(1)")
     private boolean isDeleted = false;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    public Accommodation setAmenities(String[] amenities) {
+        this.amenities = amenities;
+        this.amenityMask = Amenity.maskOf(amenities);
+        return this;
+    }
+
     public enum AccommodationType {
         HOUSE,
         APARTMENT,
@@ -0,0 +1,43 @@
+package rental.project.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Accessors(chain = true)
+@IdClass(AccommodationOccupancy.OccupancyId.class)
+@Table(name = "accommodation_occupancy")
+public class AccommodationOccupancy {
+    @Id
+    @Column(name = "accommodation_id")
+    private Long accommodationId;
+
+    @Id
+    private LocalDate occupancyDate;
+
+    @Column(nullable = false)
+    private Integer bookedUnits;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class OccupancyId implements Serializable {
+        private Long accommodationId;
+        private LocalDate occupancyDate;
+    }
+}
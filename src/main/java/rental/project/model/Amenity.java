@@ -0,0 +1,66 @@
+package rental.project.model;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Amenities an accommodation can be searched by. The position of an amenity
+ * is its bit in {@code accommodations.amenity_mask}, so new amenities are
+ * only ever added at the end.
+ *
+ * <p>Names are matched ignoring case and anything but letters and digits,
+ * so "Wi-Fi", "wifi" and "WIFI" are the same amenity.
+ */
+public enum Amenity {
+    WIFI,
+    PARKING,
+    KITCHEN,
+    AIR_CONDITIONING,
+    HEATING,
+    WASHER,
+    DRYER,
+    TV,
+    POOL,
+    GYM,
+    ELEVATOR,
+    BALCONY,
+    WORKSPACE,
+    PETS_ALLOWED,
+    BREAKFAST,
+    HOT_TUB;
+
+    private static final Map<String, Amenity> BY_KEY = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(amenity -> key(amenity.name()),
+                    Function.identity()));
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    public static Optional<Amenity> of(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(BY_KEY.get(key(name)));
+    }
+
+    /**
+     * Returns the mask of the known amenities among the given names; names
+     * outside the dictionary have no bit and are skipped.
+     */
+    public static long maskOf(String[] names) {
+        if (names == null) {
+            return 0;
+        }
+        long mask = 0;
+        for (String name : names) {
+            mask |= of(name).map(Amenity::bit).orElse(0L);
+        }
+        return mask;
+    }
+
+    private static String key(String name) {
+        return name.replaceAll("[^A-Za-z0-9]", "").toUpperCase(Locale.ROOT);
+    }
+}
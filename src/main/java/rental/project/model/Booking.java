@@ -11,6 +11,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -23,9 +24,9 @@ import org.hibernate.annotations.SQLDelete;
 @Setter
 @NoArgsConstructor
 @Accessors(chain = true)
-@SQLDelete(sql = "UPDATE payments "
+@SQLDelete(sql = "UPDATE bookings "
         + "SET is_deleted = true "
-        + "WHERE id = ?")
+        + "WHERE id = ? AND version = ?")
 @Table(name = "bookings")
 public class Booking {
     @Id
@@ -53,6 +54,10 @@ public class Booking {
     @Column(nullable = false, columnDefinition = "TINYINT(1)")
     private boolean isDeleted = false;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     public enum BookingStatus {
         PENDING,
         CONFIRMED,
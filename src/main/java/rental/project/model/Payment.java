@@ -11,6 +11,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.net.URL;
 import lombok.Getter;
@@ -28,7 +29,7 @@ import org.hibernate.annotations.SQLDelete;
 @Accessors(chain = true)
 @SQLDelete(sql = "UPDATE payments "
         + "SET is_deleted = true "
-        + "WHERE id = ?")
+        + "WHERE id = ? AND version = ?")
 @Table(name = "payments")
 public class Payment {
     @Id
@@ -56,6 +57,10 @@ public class Payment {
     @Column(nullable = false, columnDefinition = "TINYINT(1)")
     private boolean isDeleted = false;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     public enum PaymentStatus {
         PENDING,
         PAID,
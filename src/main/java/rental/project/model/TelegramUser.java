@@ -1,6 +1,7 @@
 package rental.project.model;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -15,6 +16,7 @@ import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import rental.project.utils.StringArrayConverter;
 
 @Entity
 @Getter
@@ -34,4 +36,19 @@ public class TelegramUser {
     @JoinColumn(name = "user_id")
     @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
+
+    @Convert(converter = StringArrayConverter.class)
+    private String[] topics;
+
+    @Convert(converter = StringArrayConverter.class)
+    private String[] cities;
+
+    @Convert(converter = StringArrayConverter.class)
+    private String[] accommodationTypes;
+
+    public enum Topic {
+        ACCOMMODATIONS,
+        BOOKINGS,
+        PAYMENTS
+    }
 }
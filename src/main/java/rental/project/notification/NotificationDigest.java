@@ -0,0 +1,142 @@
+package rental.project.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rental.project.model.OutboxEvent;
+import rental.project.model.TelegramDigestEntry;
+import rental.project.repository.telegram.TelegramDigestEntryRepository;
+
+/**
+ * Collects notifications per chat and sends them as one summary message,
+ * either on a fixed interval or once a chat has collected enough events.
+ *
+ * <p>A summary holds the number of events of every type and the latest
+ * events. Event types listed as excluded are still sent one by one.
+ * Collected events are stored as digest entries, and a chat's entries are
+ * deleted in the same transaction that stores its summary for delivery, so
+ * events collected before a crash are sent after the restart.
+ */
+@Slf4j
+@Component
+public class NotificationDigest {
+    private final TelegramDeliveryRelay telegramDeliveryRelay;
+    private final TelegramDigestEntryRepository telegramDigestEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Set<OutboxEvent.EventType> excludedTypes;
+    private final int maxEvents;
+    private final int latestEvents;
+    private final Counter flushCounter;
+
+    public NotificationDigest(TelegramDeliveryRelay telegramDeliveryRelay,
+                              TelegramDigestEntryRepository telegramDigestEntryRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${notification.digest.enabled}") boolean enabled,
+                              @Value("${notification.digest.excluded-types}")
+                              Set<OutboxEvent.EventType> excludedTypes,
+                              @Value("${notification.digest.max-events}") int maxEvents,
+                              @Value("${notification.digest.latest-events}") int latestEvents) {
+        this.telegramDeliveryRelay = telegramDeliveryRelay;
+        this.telegramDigestEntryRepository = telegramDigestEntryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.excludedTypes = Set.copyOf(excludedTypes);
+        this.maxEvents = maxEvents;
+        this.latestEvents = latestEvents;
+        this.flushCounter = meterRegistry.counter("notification.digest.flushed");
+    }
+
+    public boolean collects(OutboxEvent.EventType eventType) {
+        return enabled && !excludedTypes.contains(eventType);
+    }
+
+    /**
+     * Stores the event in the digest of the given chat. Inside a transaction
+     * the entry is stored together with the rest of its changes.
+     */
+    public void add(String chatId, OutboxEvent event) {
+        transactionTemplate.executeWithoutResult(status -> {
+            telegramDigestEntryRepository.save(new TelegramDigestEntry()
+                    .setChatId(chatId)
+                    .setEventType(event.getEventType())
+                    .setAggregateId(event.getAggregateId())
+                    .setCreatedAt(LocalDateTime.now()));
+            if (telegramDigestEntryRepository.countByChatId(chatId) >= maxEvents) {
+                flush(chatId);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${notification.digest.interval}")
+    public void flush() {
+        for (String chatId : telegramDigestEntryRepository.findChatIds()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> flush(chatId));
+            } catch (RuntimeException e) {
+                log.warn("Can't flush notification digest of chat {}", chatId, e);
+            }
+        }
+    }
+
+    private void flush(String chatId) {
+        List<TelegramDigestEntry> entries = telegramDigestEntryRepository.findByChatId(chatId);
+        if (entries.isEmpty()) {
+            return;
+        }
+        telegramDeliveryRelay.store(List.of(chatId), render(entries));
+        telegramDigestEntryRepository.deleteByIds(entries.stream()
+                .map(TelegramDigestEntry::getId)
+                .toList());
+        flushCounter.increment();
+    }
+
+    /**
+     * Renders the given entries, ordered from the oldest one, as a summary
+     * message.
+     */
+    private String render(List<TelegramDigestEntry> entries) {
+        Map<OutboxEvent.EventType, Integer> counts = new EnumMap<>(OutboxEvent.EventType.class);
+        entries.forEach(entry -> counts.merge(entry.getEventType(), 1, Integer::sum));
+        StringBuilder messageData = new StringBuilder("Digest of ")
+                .append(entries.size()).append(" notifications")
+                .append(System.lineSeparator())
+                .append(System.lineSeparator())
+                .append("<=====================================>")
+                .append(System.lineSeparator());
+        counts.forEach((eventType, count) -> messageData
+                .append("\t ").append(eventType).append(": ").append(count)
+                .append(System.lineSeparator()));
+        messageData.append(System.lineSeparator())
+                .append("Latest:")
+                .append(System.lineSeparator());
+        for (int i = entries.size() - 1; i >= Math.max(0, entries.size() - latestEvents); i--) {
+            messageData.append("\t ").append(describe(entries.get(i)))
+                    .append(System.lineSeparator());
+        }
+        return messageData.append("<=====================================>").toString();
+    }
+
+    private static String describe(TelegramDigestEntry entry) {
+        return switch (entry.getEventType()) {
+            case ACCOMMODATION_CREATED -> "Accommodation #" + entry.getAggregateId() + " created";
+            case ACCOMMODATION_RELEASED -> "Accommodation #" + entry.getAggregateId()
+                    + " released a spot";
+            case BOOKING_CREATED -> "Booking #" + entry.getAggregateId() + " created";
+            case BOOKING_CANCELLED -> "Booking #" + entry.getAggregateId() + " cancelled";
+            case PAYMENT_SUCCEEDED -> "Payment #" + entry.getAggregateId() + " paid";
+            case PAYMENT_CANCELLED -> "Payment #" + entry.getAggregateId() + " cancelled";
+        };
+    }
+}
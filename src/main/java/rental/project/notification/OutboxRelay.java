@@ -0,0 +1,128 @@
+package rental.project.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import rental.project.model.OutboxEvent;
+import rental.project.repository.outbox.OutboxEventRepository;
+import rental.project.service.telegramuser.TelegramSubscriberRegistry;
+
+/**
+ * Drains the notification outbox in batches ordered by id.
+ *
+ * <p>Each batch is locked and deleted in one transaction, while the per-chat
+ * deliveries of every event are stored in a transaction of their own, so an
+ * event that can't be stored doesn't roll back the rest of the batch. An event
+ * whose removal rolls back after its deliveries were stored is delivered
+ * again, so a chat may get a message twice but doesn't miss it. Once an event
+ * of an aggregate fails, later events of the same aggregate are held back
+ * until the next poll to keep their order. Nothing is polled until the
+ * subscriber registry is loaded, so no event is taken as delivered to nobody.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final TelegramNotifier telegramNotifier;
+    private final TelegramSubscriberRegistry telegramSubscriberRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate eventTransactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       TelegramNotifier telegramNotifier,
+                       TelegramSubscriberRegistry telegramSubscriberRegistry,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${notification.outbox.batch-size}") int batchSize,
+                       @Value("${notification.outbox.max-attempts}") int maxAttempts) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.telegramNotifier = telegramNotifier;
+        this.telegramSubscriberRegistry = telegramSubscriberRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventTransactionTemplate.setPropagationBehavior(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.deliveredCounter = meterRegistry.counter("notification.outbox.events",
+                "result", "delivered");
+        this.failedCounter = meterRegistry.counter("notification.outbox.events",
+                "result", "failed");
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval}")
+    public void relay() {
+        if (!telegramSubscriberRegistry.isLoaded()) {
+            return;
+        }
+        Integer delivered;
+        do {
+            delivered = transactionTemplate.execute(status -> relayBatch());
+        } while (delivered != null && delivered == batchSize);
+    }
+
+    /**
+     * Delivers the next batch of events.
+     *
+     * @return number of delivered events
+     */
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findPending(maxAttempts,
+                PageRequest.of(0, batchSize));
+        List<Long> delivered = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+        Set<Aggregate> heldBack = new HashSet<>();
+        for (OutboxEvent event : batch) {
+            Aggregate aggregate = new Aggregate(event.getAggregateType(),
+                    event.getAggregateId());
+            if (heldBack.contains(aggregate)) {
+                continue;
+            }
+            if (deliver(event)) {
+                delivered.add(event.getId());
+            } else {
+                failed.add(event.getId());
+                heldBack.add(aggregate);
+            }
+        }
+        if (!delivered.isEmpty()) {
+            outboxEventRepository.deleteByIds(delivered);
+        }
+        if (!failed.isEmpty()) {
+            outboxEventRepository.incrementAttempts(failed);
+        }
+        deliveredCounter.increment(delivered.size());
+        failedCounter.increment(failed.size());
+        return delivered.size();
+    }
+
+    private boolean deliver(OutboxEvent event) {
+        try {
+            eventTransactionTemplate.executeWithoutResult(
+                    status -> telegramNotifier.deliver(event));
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Can't deliver outbox event {} of type {}, attempt {}",
+                    event.getId(), event.getEventType(), event.getAttempts() + 1, e);
+            return false;
+        }
+    }
+
+    private record Aggregate(OutboxEvent.AggregateType type, Long id) {
+    }
+}
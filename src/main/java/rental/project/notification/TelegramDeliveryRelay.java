@@ -0,0 +1,137 @@
+package rental.project.notification;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rental.project.model.TelegramDelivery;
+import rental.project.repository.telegram.TelegramDeliveryRepository;
+import rental.project.service.telegramuser.TelegramUserDataService;
+
+/**
+ * Sends the Telegram messages stored per chat through the dispatcher.
+ *
+ * <p>Due deliveries are leased before they are queued, so a delivery left
+ * unconfirmed by a crash is sent again once its lease runs out. A delivery is
+ * deleted only after Telegram accepted it or refused the chat for good. When
+ * the dispatcher gives up on it, the attempt is counted and a later poll
+ * picks it up again. A chat that blocked the bot or whose account was deleted
+ * is unsubscribed, so no further messages are stored for it.
+ */
+@Slf4j
+@Component
+public class TelegramDeliveryRelay {
+    private final TelegramDeliveryRepository telegramDeliveryRepository;
+    private final TelegramDispatcher telegramDispatcher;
+    private final TelegramUserDataService telegramUserDataService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+
+    public TelegramDeliveryRelay(TelegramDeliveryRepository telegramDeliveryRepository,
+                                 TelegramDispatcher telegramDispatcher,
+                                 TelegramUserDataService telegramUserDataService,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${notification.delivery.batch-size}") int batchSize,
+                                 @Value("${notification.delivery.max-attempts}") int maxAttempts,
+                                 @Value("${notification.delivery.lease}") Duration lease) {
+        this.telegramDeliveryRepository = telegramDeliveryRepository;
+        this.telegramDispatcher = telegramDispatcher;
+        this.telegramUserDataService = telegramUserDataService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+    }
+
+    /**
+     * Stores the message for every given chat. Inside a transaction the
+     * deliveries are stored together with the rest of its changes.
+     */
+    public void store(Collection<String> chatIds, String message) {
+        LocalDateTime now = LocalDateTime.now();
+        telegramDeliveryRepository.saveAll(chatIds.stream()
+                .map(chatId -> new TelegramDelivery()
+                        .setChatId(chatId)
+                        .setMessage(message)
+                        .setNextAttemptAt(now)
+                        .setCreatedAt(now))
+                .toList());
+    }
+
+    @Scheduled(fixedDelayString = "${notification.delivery.poll-interval}")
+    public void relay() {
+        if (!telegramDispatcher.isBotAvailable()) {
+            return;
+        }
+        List<TelegramDelivery> batch;
+        do {
+            batch = transactionTemplate.execute(status -> leaseBatch());
+        } while (batch != null && dispatch(batch) && batch.size() == batchSize);
+    }
+
+    private List<TelegramDelivery> leaseBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TelegramDelivery> batch = telegramDeliveryRepository.findDue(now, maxAttempts,
+                PageRequest.of(0, batchSize));
+        if (!batch.isEmpty()) {
+            telegramDeliveryRepository.postpone(ids(batch), now.plus(lease));
+        }
+        return batch;
+    }
+
+    /**
+     * Queues the leased deliveries. Those that don't fit into the dispatcher
+     * queue are due again right away.
+     *
+     * @return false when the dispatcher queue is full
+     */
+    private boolean dispatch(List<TelegramDelivery> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            TelegramDelivery delivery = batch.get(i);
+            if (!telegramDispatcher.dispatch(delivery.getChatId(), delivery.getMessage(),
+                    outcome -> complete(delivery, outcome))) {
+                List<Long> unsent = ids(batch.subList(i, batch.size()));
+                transactionTemplate.executeWithoutResult(status -> telegramDeliveryRepository
+                        .postpone(unsent, LocalDateTime.now()));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void complete(TelegramDelivery delivery, TelegramDispatcher.Outcome outcome) {
+        if (outcome == TelegramDispatcher.Outcome.BLOCKED) {
+            transactionTemplate.executeWithoutResult(status -> {
+                telegramDeliveryRepository.deleteDelivered(delivery.getId());
+                telegramUserDataService.unsubscribe(delivery.getChatId());
+            });
+            return;
+        }
+        if (outcome != TelegramDispatcher.Outcome.FAILED) {
+            transactionTemplate.executeWithoutResult(status -> telegramDeliveryRepository
+                    .deleteDelivered(delivery.getId()));
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> telegramDeliveryRepository
+                .recordFailure(delivery.getId(), LocalDateTime.now()));
+        if (delivery.getAttempts() + 1 >= maxAttempts) {
+            log.warn("Giving up on Telegram delivery {} to chat {} after {} attempts",
+                    delivery.getId(), delivery.getChatId(), maxAttempts);
+        }
+    }
+
+    private static List<Long> ids(List<TelegramDelivery> deliveries) {
+        return deliveries.stream()
+                .map(TelegramDelivery::getId)
+                .toList();
+    }
+}
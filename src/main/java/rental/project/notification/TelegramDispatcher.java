@@ -0,0 +1,267 @@
+package rental.project.notification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.meta.api.methods.GetMe;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+import rental.project.telegram.TelegramBot;
+import rental.project.utils.TokenBucket;
+
+/**
+ * Sends Telegram messages from a bounded queue on a fixed pool of workers.
+ *
+ * <p>Sends are throttled by a global token bucket and one bucket per chat,
+ * sized after the Telegram bot limits. A message for a chat that has used up
+ * its bucket is parked in a delay queue instead of holding a worker, so a few
+ * throttled chats don't hold up the others. Buckets of chats not seen for a
+ * while are dropped. Failed sends are parked the same way and retried with
+ * exponential backoff, or after the delay Telegram asks for, while chats that
+ * blocked the bot, belong to a deleted account or no longer exist are
+ * dropped. Bot availability is checked
+ * periodically instead of before every notification.
+ *
+ * <p>The outcome of every queued message is reported to its callback once it
+ * was sent, rejected for good or given up on.
+ */
+@Slf4j
+@Component
+public class TelegramDispatcher {
+    private static final int CHAT_BURST = 1;
+    private static final int FORBIDDEN = 403;
+    private static final int BAD_REQUEST = 400;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final TelegramBot telegramBot;
+    private final BlockingQueue<OutgoingMessage> queue;
+    private final DelayQueue<DelayedMessage> delayed = new DelayQueue<>();
+    private final Cache<String, TokenBucket> chatBuckets;
+    private final TokenBucket globalBucket;
+    private final double chatRate;
+    private final int workers;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final ExecutorService senders;
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+
+    private volatile boolean botAvailable;
+    private volatile boolean running = true;
+
+    public TelegramDispatcher(TelegramBot telegramBot,
+                              MeterRegistry meterRegistry,
+                              @Value("${telegram.dispatcher.queue-capacity}") int queueCapacity,
+                              @Value("${telegram.dispatcher.workers}") int workers,
+                              @Value("${telegram.dispatcher.global-rate}") double globalRate,
+                              @Value("${telegram.dispatcher.chat-rate}") double chatRate,
+                              @Value("${telegram.dispatcher.max-attempts}") int maxAttempts,
+                              @Value("${telegram.dispatcher.backoff}") Duration backoff,
+                              @Value("${telegram.dispatcher.chat-bucket-retention}")
+                              Duration chatBucketRetention) {
+        this.telegramBot = telegramBot;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.chatBuckets = Caffeine.newBuilder()
+                .expireAfterAccess(chatBucketRetention)
+                .build();
+        this.globalBucket = new TokenBucket(globalRate, globalRate);
+        this.chatRate = chatRate;
+        this.workers = workers;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.senders = Executors.newFixedThreadPool(workers);
+        Gauge.builder("telegram.dispatcher.queue.depth", queue, BlockingQueue::size)
+                .description("Telegram messages waiting to be sent")
+                .register(meterRegistry);
+        Gauge.builder("telegram.dispatcher.delayed", delayed, DelayQueue::size)
+                .description("Telegram messages waiting for their chat or a retry")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("telegram.dispatcher.send")
+                .description("Latency of a single Telegram send")
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("telegram.dispatcher.messages", "result", "sent");
+        this.failedCounter = meterRegistry.counter("telegram.dispatcher.messages",
+                "result", "failed");
+        this.droppedCounter = meterRegistry.counter("telegram.dispatcher.messages",
+                "result", "dropped");
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < workers; i++) {
+            senders.execute(this::work);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        senders.shutdownNow();
+    }
+
+    public boolean isBotAvailable() {
+        return botAvailable;
+    }
+
+    /**
+     * Queues a message for the given chat.
+     *
+     * @return false when the queue is full and the message was dropped
+     */
+    public boolean dispatch(String chatId, String text, Consumer<Outcome> onCompletion) {
+        boolean queued = queue.offer(new OutgoingMessage(chatId, text, 1, onCompletion));
+        if (!queued) {
+            droppedCounter.increment();
+            log.warn("Telegram queue is full, dropping message to chat {}", chatId);
+        }
+        return queued;
+    }
+
+    @Scheduled(fixedDelayString = "${telegram.dispatcher.health-check-interval}")
+    public void checkBotAvailability() {
+        try {
+            telegramBot.execute(new GetMe());
+            botAvailable = true;
+        } catch (TelegramApiException e) {
+            botAvailable = false;
+        }
+    }
+
+    private void work() {
+        while (running) {
+            try {
+                OutgoingMessage message = next();
+                long waitNanos = chatBuckets.get(message.chatId(),
+                        chatId -> new TokenBucket(CHAT_BURST, chatRate)).tryAcquire();
+                if (waitNanos > 0) {
+                    delayed.put(new DelayedMessage(message, System.nanoTime() + waitNanos));
+                    continue;
+                }
+                awaitToken(globalBucket);
+                send(message);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Takes a delayed message that is due, otherwise waits for a queued one no
+     * longer than until the first delayed message is due.
+     */
+    private OutgoingMessage next() throws InterruptedException {
+        while (true) {
+            DelayedMessage due = delayed.poll();
+            if (due != null) {
+                return due.message();
+            }
+            DelayedMessage first = delayed.peek();
+            long timeout = first == null ? IDLE_POLL_NANOS
+                    : Math.min(first.getDelay(TimeUnit.NANOSECONDS), IDLE_POLL_NANOS);
+            OutgoingMessage message = queue.poll(timeout, TimeUnit.NANOSECONDS);
+            if (message != null) {
+                return message;
+            }
+        }
+    }
+
+    private void send(OutgoingMessage message) {
+        try {
+            sendTimer.recordCallable(() -> telegramBot.execute(
+                    new SendMessage(message.chatId(), message.text())));
+            sentCounter.increment();
+            complete(message, Outcome.SENT);
+        } catch (TelegramApiRequestException e) {
+            Integer errorCode = e.getErrorCode();
+            if (errorCode != null && (errorCode == FORBIDDEN || errorCode == BAD_REQUEST)) {
+                failedCounter.increment();
+                log.info("Can't deliver message to chat {}: {}", message.chatId(),
+                        e.getApiResponse());
+                complete(message, errorCode == FORBIDDEN ? Outcome.BLOCKED : Outcome.REJECTED);
+            } else if (errorCode != null && errorCode == TOO_MANY_REQUESTS
+                    && e.getParameters() != null && e.getParameters().getRetryAfter() != null) {
+                retry(message, Duration.ofSeconds(e.getParameters().getRetryAfter()));
+            } else {
+                retry(message, backoff.multipliedBy(1L << (message.attempt() - 1)));
+            }
+        } catch (Exception e) {
+            retry(message, backoff.multipliedBy(1L << (message.attempt() - 1)));
+        }
+    }
+
+    private void retry(OutgoingMessage message, Duration delay) {
+        if (message.attempt() >= maxAttempts) {
+            failedCounter.increment();
+            log.warn("Giving up on message to chat {} after {} attempts",
+                    message.chatId(), message.attempt());
+            complete(message, Outcome.FAILED);
+            return;
+        }
+        OutgoingMessage next = new OutgoingMessage(message.chatId(), message.text(),
+                message.attempt() + 1, message.onCompletion());
+        delayed.put(new DelayedMessage(next, System.nanoTime() + delay.toNanos()));
+    }
+
+    private void complete(OutgoingMessage message, Outcome outcome) {
+        try {
+            message.onCompletion().accept(outcome);
+        } catch (RuntimeException e) {
+            log.warn("Can't record outcome {} of message to chat {}", outcome,
+                    message.chatId(), e);
+        }
+    }
+
+    private void awaitToken(TokenBucket bucket) throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = bucket.tryAcquire()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    public enum Outcome {
+        SENT,
+        REJECTED,
+        /** The chat blocked the bot or its Telegram account was deleted. */
+        BLOCKED,
+        FAILED
+    }
+
+    private record OutgoingMessage(String chatId, String text, int attempt,
+                                   Consumer<Outcome> onCompletion) {
+    }
+
+    private record DelayedMessage(OutgoingMessage message, long dueNanos) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.signum(dueNanos - ((DelayedMessage) other).dueNanos());
+        }
+    }
+}
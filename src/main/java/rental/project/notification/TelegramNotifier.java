@@ -0,0 +1,244 @@
+package rental.project.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import rental.project.dto.accommodation.AccommodationDto;
+import rental.project.dto.booking.BookingDto;
+import rental.project.dto.payment.PaymentDto;
+import rental.project.exception.NotificationException;
+import rental.project.model.OutboxEvent;
+import rental.project.model.TelegramUser;
+import rental.project.service.telegramuser.TelegramUserDataService;
+
+/**
+ * Renders outbox events as Telegram messages and stores them for the chats
+ * subscribed to their topic, or hands them to {@link NotificationDigest}
+ * when their type is collected into digests.
+ */
+@Component
+@RequiredArgsConstructor
+public class TelegramNotifier {
+    private final TelegramDeliveryRelay telegramDeliveryRelay;
+    private final NotificationDigest notificationDigest;
+    private final TelegramUserDataService telegramUserDataService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Stores the message of the given event for every chat subscribed to it.
+     *
+     * @return number of chats the event was handed over for
+     */
+    public int deliver(OutboxEvent event) {
+        return switch (event.getEventType()) {
+            case ACCOMMODATION_CREATED -> send(event, read(event, AccommodationDto.class),
+                    this::accommodationCreated);
+            case ACCOMMODATION_RELEASED -> send(event, read(event, AccommodationDto.class),
+                    this::accommodationReleased);
+            case BOOKING_CREATED -> send(event, TelegramUser.Topic.BOOKINGS,
+                    bookingCreated(read(event, BookingDto.class)));
+            case BOOKING_CANCELLED -> send(event, TelegramUser.Topic.BOOKINGS,
+                    bookingCancelled(read(event, BookingDto.class)));
+            case PAYMENT_SUCCEEDED -> send(event, TelegramUser.Topic.PAYMENTS,
+                    paymentSucceeded(read(event, PaymentDto.class)));
+            case PAYMENT_CANCELLED -> send(event, TelegramUser.Topic.PAYMENTS,
+                    paymentCancelled(read(event, PaymentDto.class)));
+        };
+    }
+
+    private int send(OutboxEvent event, AccommodationDto accommodationDto,
+                         Function<AccommodationDto, String> renderer) {
+        String city = accommodationDto.getAddressDto() == null
+                ? null
+                : accommodationDto.getAddressDto().getCity();
+        return send(telegramUserDataService.getSubscriberChatIds(
+                        TelegramUser.Topic.ACCOMMODATIONS, city, accommodationDto.getType()),
+                event, renderer.apply(accommodationDto));
+    }
+
+    private int send(OutboxEvent event, TelegramUser.Topic topic, String message) {
+        return send(telegramUserDataService.getSubscriberChatIds(topic, null, null),
+                event, message);
+    }
+
+    private int send(Set<String> chatIds, OutboxEvent event, String message) {
+        if (notificationDigest.collects(event.getEventType())) {
+            chatIds.forEach(chatId -> notificationDigest.add(chatId, event));
+        } else if (!chatIds.isEmpty()) {
+            telegramDeliveryRelay.store(chatIds, message);
+        }
+        return chatIds.size();
+    }
+
+    private <T> T read(OutboxEvent event, Class<T> type) {
+        try {
+            return objectMapper.readValue(event.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new NotificationException("Can't read " + event.getEventType()
+                    + " notification", e);
+        }
+    }
+
+    private String accommodationCreated(AccommodationDto accommodationDto) {
+        return new StringBuilder(
+                "Accommodation successfully created!")
+                .append(System.lineSeparator())
+                .append(System.lineSeparator())
+                .append("<=====================================>")
+                .append(System.lineSeparator())
+                .append("Accommodation #").append(accommodationDto.getId())
+                .append(System.lineSeparator())
+                .append("\t Type: ").append(accommodationDto.getType())
+                .append(System.lineSeparator())
+                .append("\t Structure: ").append(accommodationDto.getSize())
+                .append(System.lineSeparator())
+                .append("\t Daily Price: ").append(accommodationDto.getDailyRate())
+                .append(System.lineSeparator())
+                .append("\t Available units: ").append(accommodationDto.getAvailability())
+                .append(System.lineSeparator())
+                .append(System.lineSeparator())
+                .append("Address ")
+                .append(System.lineSeparator())
+                .append("\t Country: ").append(accommodationDto.getAddressDto().getCountry())
+                .append(System.lineSeparator())
+                .append("\t City: ").append(accommodationDto.getAddressDto().getCity())
+                .append(System.lineSeparator())
+                .append("\t Street: ").append(accommodationDto.getAddressDto().getStreet())
+                .append(System.lineSeparator())
+                .append("<=====================================>")
+                .toString();
+    }
+
+    private String accommodationReleased(AccommodationDto accommodationDto) {
+        return new StringBuilder(
+                "Accommodation #")
+                .append(accommodationDto.getId())
+                .append(" released a spot")
+                .append(System.lineSeparator())
+                .append(System.lineSeparator())
+                .append("<=====================================>")
+                .append(System.lineSeparator())
+                .append("\t Type: ").append(accommodationDto.getType())
+                .append(System.lineSeparator())
+                .append("\t Structure: ").append(accommodationDto.getSize())
+                .append(System.lineSeparator())
+                .append("\t Daily Price: ").append(accommodationDto.getDailyRate())
+                .append(System.lineSeparator())
+                .append("Address ")
+                .append(System.lineSeparator())
+                .append("\t Country: ").append(accommodationDto.getAddressDto().getCountry())
+                .append(System.lineSeparator())
+                .append("\t City: ").append(accommodationDto.getAddressDto().getCity())
+                .append(System.lineSeparator())
+                .append("\t Street: ").append(accommodationDto.getAddressDto().getStreet())
+                .append(System.lineSeparator())
+                .append("<=====================================>")
+                .toString();
+    }
+
+    private String bookingCreated(BookingDto bookingDto) {
+        return new StringBuilder(
+                "Booking successfully created!")
+                .append(System.lineSeparator())
+                .append(System.lineSeparator())
+                .append("<=====================================>")
+                .append(System.lineSeparator())
+                .append("Booking #").append(bookingDto.getId())
+                .append(System.lineSeparator())
+                .append("\t Status: ").append(bookingDto.getStatus())
+                .append(System.lineSeparator())
+                .append("\t Check in date: ").append(bookingDto.getCheckinDate())
+                .append(System.lineSeparator())
+                .append("\t Check out date: ").append(bookingDto.getCheckoutDate())
+                .append(System.lineSeparator())
+                .append("\t Accommodation #").append(bookingDto.getAccommodationId())
+                .append(System.lineSeparator())
+                .append("\t User #").append(bookingDto.getUserId())
+                .append(System.lineSeparator())
+                .append("<=====================================>")
+                .toString();
+    }
+
+    private String bookingCancelled(BookingDto bookingDto) {
+        return new StringBuilder(
+                "Booking #").append(bookingDto.getId())
+                .append(" had been cancelled!")
+                .append(System.lineSeparator())
+                .append(System.lineSeparator())
+                .append("<=====================================>")
+                .append(System.lineSeparator())
+                .append("\t Status: ").append(bookingDto.getStatus())
+                .append(System.lineSeparator())
+                .append("\t Check in date: ").append(bookingDto.getCheckinDate())
+                .append(System.lineSeparator())
+                .append("\t Check out date: ").append(bookingDto.getCheckoutDate())
+                .append(System.lineSeparator())
+                .append("\t Accommodation #").append(bookingDto.getAccommodationId())
+                .append(System.lineSeparator())
+                .append("\t User #").append(bookingDto.getUserId())
+                .append(System.lineSeparator())
+                .append("<=====================================>")
+                .toString();
+    }
+
+    private String paymentSucceeded(PaymentDto paymentDto) {
+        return new StringBuilder(
+                "Payment #").append(paymentDto.getId())
+                .append(" had been successfully paid!")
+                .append(System.lineSeparator())
+                .append(System.lineSeparator())
+                .append("<=====================================>")
+                .append(System.lineSeparator())
+                .append("\t Booking #").append(paymentDto.getBookingId())
+                .append(System.lineSeparator())
+                .append("\t Status: ").append(paymentDto.getStatus())
+                .append(System.lineSeparator())
+                .append("\t Total amount: $").append(paymentDto.getAmount())
+                .append(System.lineSeparator())
+                .append(System.lineSeparator())
+                .append("\t Session address: ")
+                .append(System.lineSeparator())
+                .append(paymentDto.getSessionUrl())
+                .append(System.lineSeparator())
+                .append(System.lineSeparator())
+                .append("\t Session id ")
+                .append(System.lineSeparator())
+                .append(paymentDto.getSessionId())
+                .append(System.lineSeparator())
+                .append(System.lineSeparator())
+                .append("<=====================================>")
+                .toString();
+    }
+
+    private String paymentCancelled(PaymentDto paymentDto) {
+        return new StringBuilder(
+                "Payment #").append(paymentDto.getId())
+                .append(" had been cancelled!")
+                .append(System.lineSeparator())
+                .append(System.lineSeparator())
+                .append("<=====================================>")
+                .append(System.lineSeparator())
+                .append("\t Booking #").append(paymentDto.getBookingId())
+                .append(System.lineSeparator())
+                .append("\t Status: ").append(paymentDto.getStatus())
+                .append(System.lineSeparator())
+                .append("\t Total amount: $").append(paymentDto.getAmount())
+                .append(System.lineSeparator())
+                .append(System.lineSeparator())
+                .append("\t Session address: ")
+                .append(System.lineSeparator())
+                .append(paymentDto.getSessionUrl())
+                .append(System.lineSeparator())
+                .append(System.lineSeparator())
+                .append("\t Session id ")
+                .append(System.lineSeparator())
+                .append(paymentDto.getSessionId())
+                .append(System.lineSeparator())
+                .append(System.lineSeparator())
+                .append("<=====================================>")
+                .toString();
+    }
+}
@@ -0,0 +1,24 @@
+package rental.project.repository.accommodation;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import rental.project.model.Accommodation;
+
+/**
+ * Accommodation attributes search results are counted by.
+ */
+public enum AccommodationFacet {
+    COUNTRY,
+    STATE,
+    CITY,
+    TYPE;
+
+    Path<?> path(Root<Accommodation> root) {
+        return switch (this) {
+            case COUNTRY -> root.get("address").get("country");
+            case STATE -> root.get("address").get("state");
+            case CITY -> root.get("address").get("city");
+            case TYPE -> root.get("type");
+        };
+    }
+}
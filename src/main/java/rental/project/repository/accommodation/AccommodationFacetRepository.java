@@ -0,0 +1,14 @@
+package rental.project.repository.accommodation;
+
+import java.util.Map;
+import org.springframework.data.jpa.domain.Specification;
+import rental.project.model.Accommodation;
+
+public interface AccommodationFacetRepository {
+    /**
+     * Counts accommodations matching the given specification by every value
+     * of the facet, leaving out accommodations without a value.
+     */
+    Map<String, Long> countByFacet(Specification<Accommodation> specification,
+                                   AccommodationFacet facet);
+}
@@ -0,0 +1,42 @@
+package rental.project.repository.accommodation;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import rental.project.model.Accommodation;
+
+@RequiredArgsConstructor
+public class AccommodationFacetRepositoryImpl implements AccommodationFacetRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public Map<String, Long> countByFacet(Specification<Accommodation> specification,
+                                          AccommodationFacet facet) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Accommodation> root = query.from(Accommodation.class);
+        Path<?> value = facet.path(root);
+        Expression<Long> count = criteriaBuilder.count(root);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        query.multiselect(value, count)
+                .where(predicate == null
+                        ? criteriaBuilder.isNotNull(value)
+                        : criteriaBuilder.and(predicate, criteriaBuilder.isNotNull(value)))
+                .groupBy(value)
+                .orderBy(criteriaBuilder.desc(count));
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            counts.put(String.valueOf(tuple.get(0)), tuple.get(1, Long.class));
+        }
+        return counts;
+    }
+}
@@ -1,11 +1,67 @@
 package rental.project.repository.accommodation;
 
+import java.time.LocalDate;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import rental.project.dto.accommodation.AccommodationAmenityDto;
 import rental.project.model.Accommodation;
 
 public interface AccommodationRepository
-        extends JpaRepository<Accommodation, Long> {
+        extends JpaRepository<Accommodation, Long>, JpaSpecificationExecutor<Accommodation>,
+        AccommodationFacetRepository {
     Page<Accommodation> findAll(Pageable pageable);
+
+    @Query("SELECT a FROM Accommodation a "
+            + "WHERE a.id > :afterId "
+            + "ORDER BY a.id")
+    List<Accommodation> findAfter(Long afterId, Pageable pageable);
+
+    @Query("SELECT new rental.project.dto.accommodation.AccommodationAmenityDto("
+            + "a.id, a.amenityMask) "
+            + "FROM Accommodation a "
+            + "WHERE a.amenityMask <> 0")
+    List<AccommodationAmenityDto> findAllAmenityMasks();
+
+    @Query(value = "SELECT a.* FROM accommodations a "
+            + "WHERE a.is_deleted = false "
+            + "AND a.availability >= :units "
+            + "AND NOT EXISTS (SELECT 1 FROM accommodation_occupancy o "
+            + "WHERE o.accommodation_id = a.id "
+            + "AND o.occupancy_date BETWEEN :first AND :last "
+            + "AND o.booked_units > a.availability - :units)",
+            countQuery = "SELECT COUNT(*) FROM accommodations a "
+                    + "WHERE a.is_deleted = false "
+                    + "AND a.availability >= :units "
+                    + "AND NOT EXISTS (SELECT 1 FROM accommodation_occupancy o "
+                    + "WHERE o.accommodation_id = a.id "
+                    + "AND o.occupancy_date BETWEEN :first AND :last "
+                    + "AND o.booked_units > a.availability - :units)",
+            nativeQuery = true)
+    Page<Accommodation> findAvailable(LocalDate first, LocalDate last,
+                                      int units, Pageable pageable);
+
+    @Query(value = "SELECT a.* FROM accommodations a "
+            + "WHERE a.is_deleted = false "
+            + "AND a.latitude BETWEEN :minLatitude AND :maxLatitude "
+            + "AND a.longitude BETWEEN :minLongitude AND :maxLongitude "
+            + "AND (:radiusKm IS NULL OR ST_Distance_Sphere("
+            + "POINT(a.longitude, a.latitude), POINT(:longitude, :latitude)) "
+            + "<= :radiusKm * 1000) "
+            + "AND (:first IS NULL OR (a.availability >= :units "
+            + "AND NOT EXISTS (SELECT 1 FROM accommodation_occupancy o "
+            + "WHERE o.accommodation_id = a.id "
+            + "AND o.occupancy_date BETWEEN :first AND :last "
+            + "AND o.booked_units > a.availability - :units))) "
+            + "ORDER BY ST_Distance_Sphere("
+            + "POINT(a.longitude, a.latitude), POINT(:longitude, :latitude)), a.id",
+            nativeQuery = true)
+    List<Accommodation> findNearest(double latitude, double longitude, Double radiusKm,
+                                    double minLatitude, double minLongitude,
+                                    double maxLatitude, double maxLongitude,
+                                    LocalDate first, LocalDate last,
+                                    int units, Pageable pageable);
 }
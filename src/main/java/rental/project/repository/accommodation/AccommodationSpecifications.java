@@ -0,0 +1,90 @@
+package rental.project.repository.accommodation;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+import rental.project.dto.accommodation.AccommodationSearchParameters;
+import rental.project.model.Accommodation;
+import rental.project.model.Amenity;
+
+/**
+ * Builds search specifications holding a predicate only for the filters that
+ * were given, so the query keeps to the columns of one of the search indexes
+ * instead of carrying "parameter is null" branches.
+ */
+public final class AccommodationSpecifications {
+    private AccommodationSpecifications() {
+    }
+
+    public static Specification<Accommodation> matching(
+            AccommodationSearchParameters parameters) {
+        return matching(parameters, null);
+    }
+
+    /**
+     * Builds the specification without the filter of the given facet, so its
+     * counts also show the values the client could switch to.
+     */
+    public static Specification<Accommodation> matching(
+            AccommodationSearchParameters parameters, AccommodationFacet ignoredFacet) {
+        List<Specification<Accommodation>> specifications = new ArrayList<>();
+        if (parameters.country() != null && ignoredFacet != AccommodationFacet.COUNTRY) {
+            specifications.add(addressEquals("country", parameters.country()));
+        }
+        if (parameters.state() != null && ignoredFacet != AccommodationFacet.STATE) {
+            specifications.add(addressEquals("state", parameters.state()));
+        }
+        if (parameters.city() != null && ignoredFacet != AccommodationFacet.CITY) {
+            specifications.add(addressEquals("city", parameters.city()));
+        }
+        if (parameters.type() != null && ignoredFacet != AccommodationFacet.TYPE) {
+            specifications.add((root, query, criteriaBuilder) ->
+                    criteriaBuilder.equal(root.get("type"), parameters.type()));
+        }
+        if (parameters.minDailyRate() != null) {
+            specifications.add((root, query, criteriaBuilder) ->
+                    criteriaBuilder.greaterThanOrEqualTo(root.get("dailyRate"),
+                            parameters.minDailyRate()));
+        }
+        if (parameters.maxDailyRate() != null) {
+            specifications.add((root, query, criteriaBuilder) ->
+                    criteriaBuilder.lessThanOrEqualTo(root.get("dailyRate"),
+                            parameters.maxDailyRate()));
+        }
+        if (parameters.minUnits() != null) {
+            specifications.add((root, query, criteriaBuilder) ->
+                    criteriaBuilder.greaterThanOrEqualTo(root.get("availability"),
+                            parameters.minUnits()));
+        }
+        if (parameters.amenities() != null) {
+            for (String amenity : parameters.amenities()) {
+                if (Amenity.of(amenity).isEmpty()) {
+                    specifications.add((root, query, criteriaBuilder) ->
+                            criteriaBuilder.like(root.get("amenities").as(String.class),
+                                    "%" + amenity + "%"));
+                }
+            }
+            long amenityMask = Amenity.maskOf(parameters.amenities());
+            if (amenityMask != 0) {
+                specifications.add(hasAmenities(amenityMask));
+            }
+        }
+        return Specification.allOf(specifications);
+    }
+
+    /**
+     * Matches accommodations having every amenity of the mask, compared on
+     * the mask column rather than the amenity names.
+     */
+    public static Specification<Accommodation> hasAmenities(long amenityMask) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(
+                criteriaBuilder.function("bitand", Long.class,
+                        root.get("amenityMask"), criteriaBuilder.literal(amenityMask)),
+                amenityMask);
+    }
+
+    private static Specification<Accommodation> addressEquals(String attribute, String value) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.equal(root.get("address").get(attribute), value);
+    }
+}
@@ -1,11 +1,19 @@
 package rental.project.repository.booking;
 
+import jakarta.persistence.LockModeType;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import rental.project.dto.booking.BookingPeriodDto;
+import rental.project.dto.booking.BookingVersionDto;
+import rental.project.dto.version.EntityVersionDto;
 import rental.project.model.Booking;
 
 public interface BookingsRepository
@@ -24,6 +32,47 @@ public interface BookingsRepository
             + "WHERE u.id = :userId")
     Page<Booking> findByUserId(Long userId, Pageable pageable);
 
+    @Query("SELECT b FROM Booking b "
+            + "JOIN b.user u "
+            + "WHERE u.id = :userId "
+            + "AND (:checkinDate IS NULL "
+            + "OR b.checkinDate > :checkinDate "
+            + "OR (b.checkinDate = :checkinDate AND b.id > :afterId)) "
+            + "ORDER BY b.checkinDate, b.id")
+    List<Booking> findByUserIdAfter(Long userId,
+                                    LocalDate checkinDate,
+                                    Long afterId,
+                                    Pageable pageable);
+
+    @Query("SELECT b FROM Booking b "
+            + "JOIN b.user u "
+            + "WHERE (:userId IS NULL OR u.id = :userId) "
+            + "AND (:statuses IS NULL OR b.status IN :statuses) "
+            + "AND b.id > :afterId "
+            + "ORDER BY b.id")
+    List<Booking> findByUserIdAndStatusAfter(Long userId,
+                                             Booking.BookingStatus[] statuses,
+                                             Long afterId,
+                                             Pageable pageable);
+
+    @Query("SELECT new rental.project.dto.version.EntityVersionDto(b.id, b.version) "
+            + "FROM Booking b "
+            + "JOIN b.user u "
+            + "WHERE u.id = :userId")
+    List<EntityVersionDto> findVersionsByUserId(Long userId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b "
+            + "JOIN FETCH b.accommodation "
+            + "WHERE b.id = :id")
+    Optional<Booking> findWithAccommodationById(Long id);
+
+    @Query("SELECT new rental.project.dto.booking.BookingVersionDto("
+            + "b.user.id, b.version, a.version) "
+            + "FROM Booking b "
+            + "LEFT JOIN b.accommodation a "
+            + "WHERE b.id = :id")
+    Optional<BookingVersionDto> findVersionById(Long id);
+
     @Query("SELECT b FROM Booking b "
             + "JOIN b.accommodation a "
             + "WHERE a.id = :accommodationId "
@@ -33,9 +82,26 @@ public interface BookingsRepository
                                   LocalDate first,
                                   LocalDate second);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT b FROM Booking b "
             + "WHERE b.checkoutDate < :date "
-            + "AND b.status = :status")
+            + "AND b.status = :status "
+            + "AND b.id > :afterId "
+            + "ORDER BY b.id")
     List<Booking> findBookBeforeDateByStatus(LocalDate date,
-                                             Booking.BookingStatus status);
+                                             Booking.BookingStatus status,
+                                             Long afterId,
+                                             Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Booking b "
+            + "SET b.status = :status, b.version = b.version + 1 "
+            + "WHERE b.id IN :ids")
+    int updateStatusByIds(Collection<Long> ids, Booking.BookingStatus status);
+
+    @Query("SELECT new rental.project.dto.booking.BookingPeriodDto("
+            + "b.id, b.accommodation.id, b.checkinDate, b.checkoutDate) "
+            + "FROM Booking b "
+            + "WHERE b.status IN :statuses")
+    List<BookingPeriodDto> findPeriodsByStatusIn(Collection<Booking.BookingStatus> statuses);
 }
@@ -0,0 +1,57 @@
+package rental.project.repository.occupancy;
+
+import java.time.LocalDate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import rental.project.model.AccommodationOccupancy;
+
+public interface AccommodationOccupancyRepository
+        extends JpaRepository<AccommodationOccupancy, AccommodationOccupancy.OccupancyId> {
+    @Modifying
+    @Query(value = "INSERT INTO accommodation_occupancy "
+            + "(accommodation_id, occupancy_date, booked_units) "
+            + "WITH RECURSIVE nights (occupancy_date) AS ("
+            + "SELECT CAST(:first AS DATE) "
+            + "UNION ALL "
+            + "SELECT DATE_ADD(occupancy_date, INTERVAL 1 DAY) FROM nights "
+            + "WHERE occupancy_date < :last) "
+            + "SELECT :accommodationId, occupancy_date, 0 FROM nights "
+            + "ORDER BY occupancy_date "
+            + "ON DUPLICATE KEY UPDATE booked_units = booked_units",
+            nativeQuery = true)
+    int createMissingDays(Long accommodationId, LocalDate first, LocalDate last);
+
+    @Modifying
+    @Query(value = "UPDATE accommodation_occupancy o "
+            + "JOIN accommodations a ON a.id = o.accommodation_id "
+            + "SET o.booked_units = o.booked_units + 1 "
+            + "WHERE o.accommodation_id = :accommodationId "
+            + "AND o.occupancy_date BETWEEN :first AND :last "
+            + "AND o.booked_units < a.availability",
+            nativeQuery = true)
+    int reserveUnit(Long accommodationId, LocalDate first, LocalDate last);
+
+    @Modifying
+    @Query(value = "UPDATE accommodation_occupancy "
+            + "SET booked_units = booked_units - 1 "
+            + "WHERE accommodation_id = :accommodationId "
+            + "AND occupancy_date BETWEEN :first AND :last "
+            + "AND booked_units > 0",
+            nativeQuery = true)
+    int releaseUnit(Long accommodationId, LocalDate first, LocalDate last);
+
+    @Query(value = "SELECT COUNT(*) "
+            + "FROM accommodation_occupancy "
+            + "WHERE accommodation_id = :accommodationId "
+            + "AND occupancy_date BETWEEN :first AND :last",
+            nativeQuery = true)
+    int countDays(Long accommodationId, LocalDate first, LocalDate last);
+
+    @Query(value = "SELECT COALESCE(MAX(booked_units), 0) "
+            + "FROM accommodation_occupancy "
+            + "WHERE accommodation_id = :accommodationId "
+            + "AND occupancy_date BETWEEN :first AND :last",
+            nativeQuery = true)
+    int findMaxBookedUnits(Long accommodationId, LocalDate first, LocalDate last);
+}
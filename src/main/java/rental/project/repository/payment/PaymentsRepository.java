@@ -1,12 +1,16 @@
 package rental.project.repository.payment;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import rental.project.dto.payment.PaymentSessionDto;
+import rental.project.dto.version.EntityVersionDto;
 import rental.project.model.Payment;
 
 public interface PaymentsRepository extends JpaRepository<Payment, Long> {
@@ -25,10 +29,37 @@ public interface PaymentsRepository extends JpaRepository<Payment, Long> {
             + "WHERE b.user.id = :userId")
     Page<Payment> findAllByUserId(@Param("userId")Long userId, Pageable pageable);
 
+    @Query("SELECT p FROM Payment p "
+            + "JOIN p.booking b "
+            + "WHERE b.user.id = :userId "
+            + "AND p.id > :afterId "
+            + "ORDER BY p.id")
+    List<Payment> findAllByUserIdAfter(Long userId, Long afterId, Pageable pageable);
+
+    @Query("SELECT new rental.project.dto.version.EntityVersionDto(p.id, p.version) "
+            + "FROM Payment p "
+            + "JOIN p.booking b "
+            + "WHERE b.user.id = :userId")
+    List<EntityVersionDto> findVersionsByUserId(Long userId, Pageable pageable);
+
     @Query("SELECT p FROM Payment p "
             + "JOIN p.booking b "
             + "JOIN b.user u "
             + "WHERE p.status = :paymentStatus "
             + "AND (:userId IS NULL OR u.id = :userId)")
     List<Payment> findAllByStatus(Payment.PaymentStatus paymentStatus, Long userId);
+
+    @Query("SELECT new rental.project.dto.payment.PaymentSessionDto(p.id, p.sessionId) "
+            + "FROM Payment p "
+            + "WHERE p.status = :paymentStatus")
+    List<PaymentSessionDto> findSessionsByStatus(Payment.PaymentStatus paymentStatus);
+
+    @Modifying
+    @Query("UPDATE Payment p "
+            + "SET p.status = :newStatus, p.version = p.version + 1 "
+            + "WHERE p.sessionId IN :sessionIds "
+            + "AND p.status = :currentStatus")
+    int updateStatusBySessionIds(Collection<String> sessionIds,
+                                 Payment.PaymentStatus currentStatus,
+                                 Payment.PaymentStatus newStatus);
 }
@@ -0,0 +1,28 @@
+package rental.project.repository.stripeevent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import rental.project.model.StripeEvent;
+
+public interface StripeEventRepository extends JpaRepository<StripeEvent, String> {
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO stripe_events "
+            + "(id, type, payload, status, received_at) "
+            + "VALUES (:id, :type, :payload, 'RECEIVED', :receivedAt)",
+            nativeQuery = true)
+    int insertIfAbsent(String id, String type, String payload, LocalDateTime receivedAt);
+
+    @Query("SELECT e.id FROM StripeEvent e "
+            + "WHERE e.receivedAt >= :from "
+            + "ORDER BY e.receivedAt")
+    List<String> findIdsReceivedSince(LocalDateTime from);
+
+    @Modifying
+    @Query("UPDATE StripeEvent e "
+            + "SET e.status = :status, e.processedAt = null "
+            + "WHERE e.id IN :ids")
+    int updateStatusByIds(List<String> ids, StripeEvent.EventStatus status);
+}
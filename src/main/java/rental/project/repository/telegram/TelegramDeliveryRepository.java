@@ -0,0 +1,34 @@
+package rental.project.repository.telegram;
+
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import rental.project.model.TelegramDelivery;
+
+public interface TelegramDeliveryRepository extends JpaRepository<TelegramDelivery, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM TelegramDelivery d "
+            + "WHERE d.nextAttemptAt <= :now "
+            + "AND d.attempts < :maxAttempts "
+            + "ORDER BY d.id")
+    List<TelegramDelivery> findDue(LocalDateTime now, int maxAttempts, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE TelegramDelivery d SET d.nextAttemptAt = :nextAttemptAt WHERE d.id IN :ids")
+    int postpone(List<Long> ids, LocalDateTime nextAttemptAt);
+
+    @Modifying
+    @Query("UPDATE TelegramDelivery d "
+            + "SET d.attempts = d.attempts + 1, d.nextAttemptAt = :nextAttemptAt "
+            + "WHERE d.id = :id")
+    int recordFailure(Long id, LocalDateTime nextAttemptAt);
+
+    @Modifying
+    @Query("DELETE FROM TelegramDelivery d WHERE d.id = :id")
+    int deleteDelivered(Long id);
+}
@@ -0,0 +1,24 @@
+package rental.project.repository.telegram;
+
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import rental.project.model.TelegramDigestEntry;
+
+public interface TelegramDigestEntryRepository extends JpaRepository<TelegramDigestEntry, Long> {
+    long countByChatId(String chatId);
+
+    @Query("SELECT DISTINCT e.chatId FROM TelegramDigestEntry e")
+    List<String> findChatIds();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM TelegramDigestEntry e WHERE e.chatId = :chatId ORDER BY e.id")
+    List<TelegramDigestEntry> findByChatId(String chatId);
+
+    @Modifying
+    @Query("DELETE FROM TelegramDigestEntry e WHERE e.id IN :ids")
+    int deleteByIds(List<Long> ids);
+}
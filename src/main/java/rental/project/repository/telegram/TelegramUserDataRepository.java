@@ -1,8 +1,8 @@
 package rental.project.repository.telegram;
 
 import java.util.Optional;
-import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import rental.project.model.TelegramUser;
 
@@ -12,6 +12,7 @@ public interface TelegramUserDataRepository
 
     Optional<TelegramUser> findFirstByUserId(Long userId);
 
-    @Query("SELECT tu.chatId FROM TelegramUser tu ")
-    Set<String> findAllTelegramChatIds();
+    @Modifying
+    @Query("DELETE FROM TelegramUser t WHERE t.chatId = :chatId")
+    int deleteByChatId(String chatId);
 }
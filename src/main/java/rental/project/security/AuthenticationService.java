@@ -1,25 +1,66 @@
 package rental.project.security;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import rental.project.dto.auth.UserLoginRequestDto;
 import rental.project.dto.auth.UserLoginResponseDto;
+import rental.project.exception.TooManyRequestsException;
+import rental.project.model.User;
 import rental.project.security.jwt.JwtUtil;
 
 @Service
-@RequiredArgsConstructor
 public class AuthenticationService {
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final LoginThrottle loginThrottle;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Timer throttledTimer;
 
-    public UserLoginResponseDto login(UserLoginRequestDto requestDto) {
-        final Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(requestDto.email(), requestDto.password())
-        );
-        String token = jwtUtil.generateToken(authentication.getName());
-        return new UserLoginResponseDto(token);
+    public AuthenticationService(JwtUtil jwtUtil,
+                                 AuthenticationManager authenticationManager,
+                                 LoginThrottle loginThrottle,
+                                 MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.authenticationManager = authenticationManager;
+        this.loginThrottle = loginThrottle;
+        this.successTimer = loginTimer(meterRegistry, "success");
+        this.failureTimer = loginTimer(meterRegistry, "failure");
+        this.throttledTimer = loginTimer(meterRegistry, "throttled");
+    }
+
+    public UserLoginResponseDto login(UserLoginRequestDto requestDto, String clientAddress) {
+        long start = System.nanoTime();
+        Timer timer = failureTimer;
+        try {
+            if (!loginThrottle.tryAcquire(requestDto.email(), clientAddress)) {
+                throw new TooManyRequestsException("Too many login attempts, try again later");
+            }
+            final Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(requestDto.email(),
+                            requestDto.password())
+            );
+            String token = jwtUtil.generateToken((User) authentication.getPrincipal());
+            timer = successTimer;
+            return new UserLoginResponseDto(token);
+        } catch (TooManyRequestsException e) {
+            timer = throttledTimer;
+            throw e;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer loginTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("auth.login")
+                .description("Time taken to handle login attempts")
+                .tag("result", result)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
     }
 }
@@ -0,0 +1,67 @@
+package rental.project.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import rental.project.utils.TokenBucket;
+
+/**
+ * Limits login attempts per email and per client address with token
+ * buckets. Buckets of keys not seen for a while are dropped.
+ *
+ * <p>The client address is the remote address resolved by Tomcat, which takes
+ * it from X-Forwarded-For only when the request comes from a proxy listed in
+ * {@code server.tomcat.remoteip.internal-proxies}, so clients behind a trusted
+ * reverse proxy don't share one bucket and others can't pick their own.
+ */
+@Component
+public class LoginThrottle {
+    private final Cache<String, TokenBucket> emailBuckets;
+    private final Cache<String, TokenBucket> addressBuckets;
+    private final double emailCapacity;
+    private final double emailRate;
+    private final double addressCapacity;
+    private final double addressRate;
+
+    public LoginThrottle(@Value("${security.login.email-capacity}") double emailCapacity,
+                         @Value("${security.login.email-rate}") double emailRate,
+                         @Value("${security.login.address-capacity}") double addressCapacity,
+                         @Value("${security.login.address-rate}") double addressRate,
+                         @Value("${security.login.maximum-buckets}") long maximumBuckets,
+                         @Value("${security.login.bucket-retention}") Duration retention) {
+        this.emailCapacity = emailCapacity;
+        this.emailRate = emailRate;
+        this.addressCapacity = addressCapacity;
+        this.addressRate = addressRate;
+        this.emailBuckets = buckets(maximumBuckets, retention);
+        this.addressBuckets = buckets(maximumBuckets, retention);
+    }
+
+    /**
+     * Takes a login attempt from the buckets of the client address and email.
+     * The email bucket is left untouched when the address is throttled, so
+     * attempts rejected for their address don't count against the account.
+     *
+     * @return false when the attempt has to be rejected
+     */
+    public boolean tryAcquire(String email, String address) {
+        TokenBucket addressBucket = addressBuckets.get(address,
+                key -> new TokenBucket(addressCapacity, addressRate));
+        if (addressBucket.tryAcquire() > 0) {
+            return false;
+        }
+        TokenBucket emailBucket = emailBuckets.get(email.toLowerCase(Locale.ROOT),
+                key -> new TokenBucket(emailCapacity, emailRate));
+        return emailBucket.tryAcquire() == 0;
+    }
+
+    private static Cache<String, TokenBucket> buckets(long maximumSize, Duration retention) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(retention)
+                .build();
+    }
+}
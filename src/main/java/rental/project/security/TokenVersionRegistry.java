@@ -0,0 +1,80 @@
+package rental.project.security;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rental.project.dto.user.UserTokenVersionDto;
+import rental.project.repository.user.UserRepository;
+
+/**
+ * In-memory copy of the token version of every active user. A token is
+ * revoked once the version of its user is raised, and tokens of deleted
+ * users are revoked once the users are gone from the database.
+ *
+ * <p>Versions are reloaded on a fixed interval, so a change made by another
+ * instance is picked up within that interval.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenVersionRegistry {
+    private final UserRepository userRepository;
+
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    @Scheduled(fixedDelayString = "${jwt.token-version.refresh-interval}")
+    public void refresh() {
+        Map<Long, Integer> loaded = new HashMap<>();
+        for (UserTokenVersionDto userVersion : userRepository.findAllTokenVersions()) {
+            loaded.put(userVersion.id(), userVersion.tokenVersion());
+        }
+        versions.keySet().retainAll(loaded.keySet());
+        loaded.forEach((userId, version) -> versions.merge(userId, version, Math::max));
+        log.debug("Loaded token versions of {} users", loaded.size());
+    }
+
+    /**
+     * Checks whether a token of the given version is still valid for the user.
+     * Users not loaded yet are looked up once and kept.
+     */
+    public boolean isCurrent(Long userId, int version) {
+        Integer current = versions.get(userId);
+        if (current == null) {
+            current = userRepository.findTokenVersionById(userId).orElse(null);
+            if (current == null) {
+                return false;
+            }
+            current = versions.merge(userId, current, Math::max);
+        }
+        if (version > current) {
+            // raised by another instance since the last refresh
+            versions.merge(userId, version, Math::max);
+            return true;
+        }
+        return version == current;
+    }
+
+    /**
+     * Publishes the new token version of the given user. When called inside a
+     * transaction it is published only once the transaction commits.
+     */
+    public void update(Long userId, int version) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            versions.merge(userId, version, Math::max);
+                        }
+                    });
+        } else {
+            versions.merge(userId, version, Math::max);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package rental.project.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Principals of authenticated requests keyed by email, so that a request
+ * with a valid token does not load its user from the database.
+ *
+ * <p>Entries expire after a fixed time and are evicted explicitly whenever
+ * the user is changed.
+ */
+@Component
+public class UserPrincipalCache {
+    private static final String PRINCIPAL_CACHE_NAME = "security.principals";
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final Cache<String, UserDetails> principals;
+
+    public UserPrincipalCache(UserDetailsServiceImpl userDetailsService,
+                              MeterRegistry meterRegistry,
+                              @Value("${security.principal-cache.maximum-size}") long cacheSize,
+                              @Value("${security.principal-cache.ttl}") Duration ttl) {
+        this.userDetailsService = userDetailsService;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, PRINCIPAL_CACHE_NAME);
+    }
+
+    public UserDetails get(String email) {
+        return principals.get(email, userDetailsService::loadUserByUsername);
+    }
+
+    /**
+     * Evicts the principal of the given user. When called inside a transaction
+     * it is evicted again after commit, so a principal loaded meanwhile from
+     * the old row is not kept.
+     */
+    public void invalidate(String email) {
+        principals.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            principals.invalidate(email);
+                        }
+                    });
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package rental.project.security.jwt;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,15 +15,23 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
-import rental.project.security.UserDetailsServiceImpl;
+import rental.project.model.User;
+import rental.project.security.TokenVersionRegistry;
+import rental.project.security.UserPrincipalCache;
 
+/**
+ * Authenticates requests by their bearer token. The principal is built from
+ * the token claims, so no user is loaded unless the token predates them.
+ * Requests with an invalid or revoked token are answered with 401 right away.
+ */
 @RequiredArgsConstructor
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
     private static final String BEARER_TOKEN_PART = "Bearer ";
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -31,17 +40,36 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         String token = getToken(request);
 
-        if (token != null && jwtUtil.validateToken(token)) {
-            String username = jwtUtil.getUsername(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            Authentication auth = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(auth);
+        if (token != null) {
+            try {
+                VerifiedToken verified = jwtUtil.verify(token);
+                UserDetails userDetails = verified.hasUserClaims()
+                        ? toPrincipal(verified)
+                        : userPrincipalCache.get(verified.username());
+                Authentication auth = new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            } catch (JwtException e) {
+                SecurityContextHolder.clearContext();
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, e.getMessage());
+                return;
+            }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails toPrincipal(VerifiedToken verified) {
+        if (!tokenVersionRegistry.isCurrent(verified.userId(), verified.version())) {
+            throw new JwtException("Token has been revoked");
+        }
+        return new User()
+                .setId(verified.userId())
+                .setEmail(verified.username())
+                .setRole(User.Role.valueOf(verified.role()))
+                .setTokenVersion(verified.version());
+    }
+
     private String getToken(HttpServletRequest request) {
         String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_TOKEN_PART)) {
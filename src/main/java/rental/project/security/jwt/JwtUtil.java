@@ -1,60 +1,106 @@
 package rental.project.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
-import java.util.function.Function;
+import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import rental.project.model.User;
 
+/**
+ * Issues and verifies JWT tokens. Verified tokens are cached until their own
+ * expiration, so a token presented again is not parsed and verified again.
+ *
+ * <p>Tokens carry the id, role and token version of their user, so a request
+ * can be authenticated from the token alone.
+ */
 @Component
 public class JwtUtil {
-    private final Key secret;
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String VERSION_CLAIM = "ver";
+
+    private final SecretKey secret;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    public JwtUtil(@Value("${jwt.secret}") String secretKey) {
+    public JwtUtil(@Value("${jwt.secret}") String secretKey,
+                   @Value("${jwt.cache.maximum-size}") long cacheSize) {
         secret = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(secret)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new TokenExpiry())
+                .build();
     }
 
-    public String generateToken(String username) {
+    public String generateToken(User user) {
         return Jwts.builder()
-                .subject(username)
+                .subject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .claim(VERSION_CLAIM, user.getTokenVersion())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(secret)
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the signature and expiration of the token.
+     *
+     * @throws JwtException when the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
         try {
-            Jws<Claims> claimsJws = Jwts.parser()
-                    .setSigningKey(secret)
-                    .build()
-                    .parseClaimsJws(token);
-            return !claimsJws.getBody().getExpiration().before(new Date());
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            VerifiedToken verified = new VerifiedToken(claims.getSubject(),
+                    claims.get(USER_ID_CLAIM, Long.class),
+                    claims.get(ROLE_CLAIM, String.class),
+                    claims.get(VERSION_CLAIM, Integer.class),
+                    claims.getExpiration().toInstant());
+            verifiedTokens.put(token, verified);
+            return verified;
         } catch (JwtException | IllegalArgumentException e) {
             throw new JwtException("Invalid JWT token");
         }
     }
 
-    public String getUsername(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
-    }
+    static class TokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), verified.expiresAt()).toNanos());
+        }
 
-    private <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parser()
-                .setSigningKey(secret)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken verified,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(token, verified, currentTime);
+        }
 
-        return claimsResolver.apply(claims);
+        @Override
+        public long expireAfterRead(String token, VerifiedToken verified,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,17 @@
+package rental.project.security.jwt;
+
+import java.time.Instant;
+
+/**
+ * Claims of a verified token. Tokens issued before the user claims were
+ * added carry only the username, the other claims are null for them.
+ */
+public record VerifiedToken(String username,
+                            Long userId,
+                            String role,
+                            Integer version,
+                            Instant expiresAt) {
+    public boolean hasUserClaims() {
+        return userId != null && role != null && version != null;
+    }
+}
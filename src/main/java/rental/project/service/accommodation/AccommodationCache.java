@@ -0,0 +1,105 @@
+package rental.project.service.accommodation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rental.project.dto.accommodation.AccommodationDto;
+
+/**
+ * Read-through cache of accommodation dtos, both single ones by id and pages
+ * of the accommodation list. Cached dtos are shared between requests and
+ * must not be modified.
+ *
+ * <p>Entries are evicted by the writes that change them, immediately and
+ * again after commit. They also expire after a fixed time, which bounds how
+ * long a change made by another instance stays unnoticed.
+ */
+@Component
+public class AccommodationCache {
+    private static final String ACCOMMODATION_CACHE_NAME = "accommodations";
+    private static final String PAGE_CACHE_NAME = "accommodation.pages";
+    private static final String ID_PROPERTY = "id";
+
+    private final boolean enabled;
+    private final Cache<Long, AccommodationDto> accommodations;
+    private final Cache<Pageable, List<AccommodationDto>> pages;
+
+    public AccommodationCache(MeterRegistry meterRegistry,
+                              @Value("${accommodation.cache.enabled}") boolean enabled,
+                              @Value("${accommodation.cache.maximum-size}") long cacheSize,
+                              @Value("${accommodation.cache.page-maximum-size}") long pageSize,
+                              @Value("${accommodation.cache.ttl}") Duration ttl) {
+        this.enabled = enabled;
+        this.accommodations = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(pageSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, accommodations, ACCOMMODATION_CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, PAGE_CACHE_NAME);
+    }
+
+    public AccommodationDto get(Long id, Function<Long, AccommodationDto> loader) {
+        return enabled ? accommodations.get(id, loader) : loader.apply(id);
+    }
+
+    public List<AccommodationDto> getPage(Pageable pageable,
+                                          Supplier<List<AccommodationDto>> loader) {
+        return enabled ? pages.get(pageable, key -> loader.get()) : loader.get();
+    }
+
+    /**
+     * Evicts a changed accommodation together with the pages it appears on.
+     * Pages sorted by other properties than id are evicted as well, since the
+     * change may move it onto them.
+     */
+    public void invalidate(Long id) {
+        evictAfterCommit(() -> {
+            accommodations.invalidate(id);
+            pages.asMap().entrySet().removeIf(entry ->
+                    isAffected(entry.getKey(), entry.getValue(), id));
+        });
+    }
+
+    /**
+     * Evicts every cached page, for writes that add or remove accommodations
+     * and so shift the content of all pages.
+     */
+    public void invalidatePages() {
+        evictAfterCommit(pages::invalidateAll);
+    }
+
+    private void evictAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            eviction.run();
+                        }
+                    });
+        }
+    }
+
+    private static boolean isAffected(Pageable pageable, List<AccommodationDto> page, Long id) {
+        return page.stream().anyMatch(accommodationDto -> id.equals(accommodationDto.getId()))
+                || pageable.getSort().stream()
+                        .anyMatch(order -> !ID_PROPERTY.equals(order.getProperty()));
+    }
+}
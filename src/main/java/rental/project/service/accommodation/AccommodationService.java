@@ -1,16 +1,38 @@
 package rental.project.service.accommodation;
 
+import java.time.LocalDate;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 import rental.project.dto.accommodation.AccommodationDto;
+import rental.project.dto.accommodation.AccommodationSearchParameters;
+import rental.project.dto.accommodation.AccommodationSearchResultDto;
 import rental.project.dto.accommodation.CreateAccommodationDto;
+import rental.project.dto.accommodation.NearbyAccommodationDto;
 import rental.project.dto.accommodation.UpdateAccommodationDto;
+import rental.project.dto.page.CursorPageDto;
+import rental.project.utils.GeoUtil;
 
 public interface AccommodationService {
     AccommodationDto save(CreateAccommodationDto createAccommodationDto);
 
     List<AccommodationDto> findAll(Pageable pageable);
 
+    CursorPageDto<AccommodationDto> scroll(String cursor, int size);
+
+    AccommodationSearchResultDto search(AccommodationSearchParameters parameters,
+                                        Pageable pageable);
+
+    List<AccommodationDto> findAvailable(LocalDate from, LocalDate to,
+                                         int units, Pageable pageable);
+
+    List<NearbyAccommodationDto> findNearby(double latitude, double longitude,
+                                            double radiusKm, LocalDate from,
+                                            LocalDate to, int units, Pageable pageable);
+
+    List<NearbyAccommodationDto> findWithin(GeoUtil.BoundingBox boundingBox,
+                                            LocalDate from, LocalDate to,
+                                            int units, Pageable pageable);
+
     AccommodationDto findByAccommodationId(Long id);
 
     AccommodationDto updateAccommodation(Long id, UpdateAccommodationDto updateAccommodationDto);
@@ -1,17 +1,35 @@
 package rental.project.service.accommodation;
 
 import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import rental.project.dto.accommodation.AccommodationDto;
+import rental.project.dto.accommodation.AccommodationSearchParameters;
+import rental.project.dto.accommodation.AccommodationSearchResultDto;
 import rental.project.dto.accommodation.CreateAccommodationDto;
+import rental.project.dto.accommodation.NearbyAccommodationDto;
 import rental.project.dto.accommodation.UpdateAccommodationDto;
+import rental.project.dto.page.CursorPageDto;
+import rental.project.exception.BookingException;
 import rental.project.exception.EntityNotFoundException;
 import rental.project.mapper.AccommodationMapper;
 import rental.project.model.Accommodation;
+import rental.project.model.Amenity;
 import rental.project.notification.NotificationService;
+import rental.project.repository.accommodation.AccommodationFacet;
 import rental.project.repository.accommodation.AccommodationRepository;
+import rental.project.repository.accommodation.AccommodationSpecifications;
+import rental.project.service.booking.AvailabilityIndex;
+import rental.project.utils.CursorUtil;
+import rental.project.utils.GeoUtil;
 
 @Transactional
 @Service
@@ -20,29 +38,95 @@ public class AccommodationServiceImpl implements AccommodationService {
     private final AccommodationRepository accommodationRepository;
     private final AccommodationMapper accommodationMapper;
     private final NotificationService notificationService;
+    private final AccommodationCache accommodationCache;
+    private final AmenityIndex amenityIndex;
 
     @Override
     public AccommodationDto save(CreateAccommodationDto createAccommodationDto) {
         Accommodation toCreate = accommodationMapper.toEntity(createAccommodationDto);
-        AccommodationDto dto = accommodationMapper.toDto(accommodationRepository.save(toCreate));
+        Accommodation saved = accommodationRepository.save(toCreate);
+        amenityIndex.put(saved.getId(), saved.getAmenityMask());
+        AccommodationDto dto = accommodationMapper.toDto(saved);
+        accommodationCache.invalidatePages();
         notificationService.onAccommodationCreation(dto);
         return dto;
     }
 
     @Override
-    public List<AccommodationDto> findAll(org.springframework.data.domain.Pageable pageable) {
-        return accommodationRepository.findAll(pageable).stream()
+    public List<AccommodationDto> findAll(Pageable pageable) {
+        return accommodationCache.getPage(pageable,
+                () -> accommodationRepository.findAll(pageable).stream()
+                        .map(accommodationMapper::toDto)
+                        .toList());
+    }
+
+    @Override
+    public CursorPageDto<AccommodationDto> scroll(String cursor, int size) {
+        Long afterId = CursorUtil.decode(cursor, 1, keys -> Long.valueOf(keys[0]));
+        return CursorUtil.page(accommodationRepository.findAfter(
+                        afterId == null ? 0L : afterId, CursorUtil.seekLimit(size)),
+                size, accommodationMapper::toDto,
+                accommodation -> CursorUtil.encode(accommodation.getId()));
+    }
+
+    @Override
+    public AccommodationSearchResultDto search(AccommodationSearchParameters parameters,
+                                               Pageable pageable) {
+        long amenityMask = Amenity.maskOf(parameters.amenities());
+        boolean anyMatching = amenityMask == 0
+                || !amenityIndex.matching(amenityMask).isEmpty();
+        Page<Accommodation> page = anyMatching
+                ? accommodationRepository.findAll(
+                        AccommodationSpecifications.matching(parameters), pageable)
+                : Page.empty(pageable);
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        for (AccommodationFacet facet : AccommodationFacet.values()) {
+            facets.put(facet.name().toLowerCase(Locale.ROOT), anyMatching
+                    ? accommodationRepository.countByFacet(
+                            AccommodationSpecifications.matching(parameters, facet), facet)
+                    : Map.of());
+        }
+        return new AccommodationSearchResultDto(
+                page.stream().map(accommodationMapper::toDto).toList(),
+                page.getTotalElements(), facets);
+    }
+
+    @Override
+    public List<AccommodationDto> findAvailable(LocalDate from, LocalDate to,
+                                                int units, Pageable pageable) {
+        checkPeriod(from, to, units);
+        return accommodationRepository.findAvailable(from,
+                        AvailabilityIndex.lastNight(from, to), units, pageable).stream()
                 .map(accommodationMapper::toDto)
                 .toList();
     }
 
+    @Override
+    public List<NearbyAccommodationDto> findNearby(double latitude, double longitude,
+                                                   double radiusKm, LocalDate from,
+                                                   LocalDate to, int units,
+                                                   Pageable pageable) {
+        return findNearest(latitude, longitude, radiusKm,
+                GeoUtil.boundingBox(latitude, longitude, radiusKm),
+                from, to, units, pageable);
+    }
+
+    @Override
+    public List<NearbyAccommodationDto> findWithin(GeoUtil.BoundingBox boundingBox,
+                                                   LocalDate from, LocalDate to,
+                                                   int units, Pageable pageable) {
+        return findNearest(boundingBox.centerLatitude(), boundingBox.centerLongitude(), null,
+                boundingBox, from, to, units, pageable);
+    }
+
     @Override
     public AccommodationDto findByAccommodationId(Long id) {
-        return accommodationMapper.toDto(accommodationRepository.findById(id)
-                .orElseThrow(
-                        () -> new EntityNotFoundException("Accommodation with id "
-                                + id + " not found")
-                ));
+        return accommodationCache.get(id,
+                key -> accommodationMapper.toDto(accommodationRepository.findById(key)
+                        .orElseThrow(
+                                () -> new EntityNotFoundException("Accommodation with id "
+                                        + key + " not found")
+                        )));
     }
 
     @Override
@@ -55,11 +139,52 @@ public class AccommodationServiceImpl implements AccommodationService {
                                 + id + " not found")
                 );
         accommodationMapper.updateFromDto(updateAccommodationDto, toUpdate);
+        accommodationCache.invalidate(id);
+        amenityIndex.put(id, toUpdate.getAmenityMask());
         return accommodationMapper.toDto(accommodationRepository.save(toUpdate));
     }
 
     @Override
     public void deleteById(Long id) {
         accommodationRepository.deleteById(id);
+        amenityIndex.remove(id);
+        accommodationCache.invalidate(id);
+        accommodationCache.invalidatePages();
+    }
+
+    private List<NearbyAccommodationDto> findNearest(double latitude, double longitude,
+                                                     Double radiusKm,
+                                                     GeoUtil.BoundingBox boundingBox,
+                                                     LocalDate from, LocalDate to,
+                                                     int units, Pageable pageable) {
+        if (from != null || to != null) {
+            if (from == null || to == null) {
+                throw new BookingException(
+                        "Both check in and check out dates are required");
+            }
+            checkPeriod(from, to, units);
+        }
+        return accommodationRepository.findNearest(latitude, longitude, radiusKm,
+                        boundingBox.minLatitude(), boundingBox.minLongitude(),
+                        boundingBox.maxLatitude(), boundingBox.maxLongitude(),
+                        from, from == null ? null : AvailabilityIndex.lastNight(from, to),
+                        units,
+                        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
+                .stream()
+                .map(accommodation -> new NearbyAccommodationDto(
+                        accommodationMapper.toDto(accommodation),
+                        GeoUtil.distanceKm(latitude, longitude,
+                                accommodation.getAddress().getLatitude(),
+                                accommodation.getAddress().getLongitude())))
+                .toList();
+    }
+
+    private static void checkPeriod(LocalDate from, LocalDate to, int units) {
+        if (to.isBefore(from)) {
+            throw new BookingException("Check out date can't be before check in date");
+        }
+        if (units < 1) {
+            throw new BookingException("At least one unit must be requested");
+        }
     }
 }
@@ -0,0 +1,126 @@
+package rental.project.service.accommodation;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rental.project.dto.accommodation.AccommodationAmenityDto;
+import rental.project.model.Amenity;
+import rental.project.repository.accommodation.AccommodationRepository;
+
+/**
+ * In-memory set of accommodation ids per amenity, so accommodations having
+ * several amenities are found by intersecting bit sets instead of reading
+ * the accommodations table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AmenityIndex {
+    private final AccommodationRepository accommodationRepository;
+
+    private final Map<Amenity, BitSet> accommodationIds = new EnumMap<>(Amenity.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Map<Amenity, BitSet> loaded = new EnumMap<>(Amenity.class);
+        for (Amenity amenity : Amenity.values()) {
+            loaded.put(amenity, new BitSet());
+        }
+        int count = 0;
+        for (AccommodationAmenityDto accommodation
+                : accommodationRepository.findAllAmenityMasks()) {
+            set(loaded, accommodation.id(), accommodation.amenityMask());
+            count++;
+        }
+        lock.writeLock().lock();
+        try {
+            accommodationIds.clear();
+            accommodationIds.putAll(loaded);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Amenity index warmed up for {} accommodations", count);
+    }
+
+    /**
+     * Returns the ids of accommodations having every amenity of the mask.
+     * An empty mask matches nothing, as no amenity was asked for.
+     */
+    public BitSet matching(long amenityMask) {
+        lock.readLock().lock();
+        try {
+            BitSet matching = null;
+            for (Amenity amenity : Amenity.values()) {
+                if ((amenityMask & amenity.bit()) == 0) {
+                    continue;
+                }
+                BitSet ids = accommodationIds.get(amenity);
+                if (ids == null) {
+                    return new BitSet();
+                }
+                if (matching == null) {
+                    matching = (BitSet) ids.clone();
+                } else {
+                    matching.and(ids);
+                }
+            }
+            return matching == null ? new BitSet() : matching;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records the amenities of an accommodation. When called inside a
+     * transaction they are recorded only once the transaction commits.
+     */
+    public void put(Long accommodationId, long amenityMask) {
+        afterCommit(() -> write(accommodationId, amenityMask));
+    }
+
+    public void remove(Long accommodationId) {
+        afterCommit(() -> write(accommodationId, 0));
+    }
+
+    private void write(Long accommodationId, long amenityMask) {
+        lock.writeLock().lock();
+        try {
+            set(accommodationIds, accommodationId, amenityMask);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void set(Map<Amenity, BitSet> index, Long accommodationId,
+                            long amenityMask) {
+        int id = Math.toIntExact(accommodationId);
+        for (Amenity amenity : Amenity.values()) {
+            index.computeIfAbsent(amenity, key -> new BitSet())
+                    .set(id, (amenityMask & amenity.bit()) != 0);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+    }
+}
@@ -0,0 +1,216 @@
+package rental.project.service.booking;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rental.project.dto.booking.BookingPeriodDto;
+import rental.project.model.Booking;
+import rental.project.repository.booking.BookingsRepository;
+
+/**
+ * In-memory per-day occupancy of every accommodation, built from the bookings
+ * that still hold a unit (PENDING or CONFIRMED).
+ *
+ * <p>A booking occupies the nights from its check-in date up to, but not
+ * including, its check-out date; a same-day booking occupies its check-in day.
+ *
+ * <p>The index is built while the bean is initialized, so it is complete
+ * before the web server and the schedulers start taking bookings.
+ *
+ * <p>The consistency check rebuilds drifted accommodations one at a time and
+ * leaves alone those with changes of running transactions, which the
+ * bookings table can't show yet.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIndex {
+    public static final List<Booking.BookingStatus> ACTIVE_STATUSES =
+            List.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.CONFIRMED);
+
+    private final BookingsRepository bookingsRepository;
+
+    private volatile Map<Long, Occupancy> occupancies = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void warmUp() {
+        occupancies = load();
+        log.info("Availability index warmed up for {} accommodations", occupancies.size());
+    }
+
+    @Scheduled(cron = "${booking.availability.consistency-check-cron}")
+    public void verifyConsistency() {
+        Map<Long, Long> versions = new HashMap<>();
+        occupancies.forEach((id, occupancy) -> versions.put(id, occupancy.version()));
+        Map<Long, Occupancy> actual = load();
+        Set<Long> accommodationIds = new HashSet<>(actual.keySet());
+        accommodationIds.addAll(occupancies.keySet());
+        int rebuilt = 0;
+        for (Long id : accommodationIds) {
+            Occupancy expected = actual.get(id);
+            if (occupancy(id).rebuildIfDrifted(
+                    expected == null ? Map.of() : expected.snapshot(),
+                    versions.getOrDefault(id, 0L))) {
+                rebuilt++;
+            }
+        }
+        if (rebuilt > 0) {
+            log.warn("Availability index drifted from bookings table, rebuilt {} accommodations",
+                    rebuilt);
+        }
+    }
+
+    public int occupiedUnits(Long accommodationId, LocalDate checkin, LocalDate checkout) {
+        Occupancy occupancy = occupancies.get(accommodationId);
+        return occupancy == null ? 0 : occupancy.max(checkin, lastNight(checkin, checkout));
+    }
+
+    /**
+     * Takes a unit of the accommodation for the given period if one is free.
+     * When called inside a transaction the unit is handed back on rollback.
+     */
+    public boolean tryReserve(Long accommodationId, LocalDate checkin,
+                              LocalDate checkout, int capacity) {
+        Occupancy occupancy = occupancy(accommodationId);
+        boolean reserved = occupancy.tryAdd(checkin, lastNight(checkin, checkout), capacity);
+        if (reserved && TransactionSynchronizationManager.isSynchronizationActive()) {
+            occupancy.begin();
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            if (status != STATUS_COMMITTED) {
+                                occupancy.add(checkin, lastNight(checkin, checkout), -1);
+                            }
+                            occupancy.complete();
+                        }
+                    });
+        }
+        return reserved;
+    }
+
+    public void reserve(Long accommodationId, LocalDate checkin, LocalDate checkout) {
+        afterCommit(accommodationId,
+                occupancy -> occupancy.add(checkin, lastNight(checkin, checkout), 1));
+    }
+
+    public void release(Long accommodationId, LocalDate checkin, LocalDate checkout) {
+        afterCommit(accommodationId,
+                occupancy -> occupancy.add(checkin, lastNight(checkin, checkout), -1));
+    }
+
+    private Map<Long, Occupancy> load() {
+        Map<Long, Occupancy> loaded = new ConcurrentHashMap<>();
+        for (BookingPeriodDto period : bookingsRepository.findPeriodsByStatusIn(ACTIVE_STATUSES)) {
+            loaded.computeIfAbsent(period.accommodationId(), id -> new Occupancy())
+                    .add(period.checkinDate(),
+                            lastNight(period.checkinDate(), period.checkoutDate()), 1);
+        }
+        return loaded;
+    }
+
+    private Occupancy occupancy(Long accommodationId) {
+        return occupancies.computeIfAbsent(accommodationId, id -> new Occupancy());
+    }
+
+    private void afterCommit(Long accommodationId, Consumer<Occupancy> change) {
+        Occupancy occupancy = occupancy(accommodationId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.accept(occupancy);
+            return;
+        }
+        occupancy.begin();
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_COMMITTED) {
+                            change.accept(occupancy);
+                        }
+                        occupancy.complete();
+                    }
+                });
+    }
+
+    public static LocalDate lastNight(LocalDate checkin, LocalDate checkout) {
+        return checkout.isAfter(checkin) ? checkout.minusDays(1) : checkin;
+    }
+
+    private static final class Occupancy {
+        private final NavigableMap<LocalDate, Integer> unitsByDay = new TreeMap<>();
+        private int pendingTransactions;
+        private long version;
+
+        synchronized long version() {
+            return version;
+        }
+
+        synchronized void begin() {
+            pendingTransactions++;
+        }
+
+        synchronized void complete() {
+            pendingTransactions--;
+            version++;
+        }
+
+        synchronized int max(LocalDate first, LocalDate last) {
+            return unitsByDay.subMap(first, true, last, true).values().stream()
+                    .mapToInt(Integer::intValue)
+                    .max()
+                    .orElse(0);
+        }
+
+        synchronized boolean tryAdd(LocalDate first, LocalDate last, int capacity) {
+            if (max(first, last) >= capacity) {
+                return false;
+            }
+            add(first, last, 1);
+            return true;
+        }
+
+        synchronized void add(LocalDate first, LocalDate last, int units) {
+            for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                unitsByDay.merge(day, units, (a, b) -> a + b == 0 ? null : a + b);
+            }
+            version++;
+        }
+
+        synchronized Map<LocalDate, Integer> snapshot() {
+            return new TreeMap<>(unitsByDay);
+        }
+
+        /**
+         * Replaces the units with the given ones when they differ, unless a
+         * transaction is still running or the units changed since the given
+         * version, as the bookings table may not show that change yet.
+         *
+         * @return true when the units were replaced
+         */
+        synchronized boolean rebuildIfDrifted(Map<LocalDate, Integer> expected,
+                                              long expectedVersion) {
+            if (pendingTransactions > 0 || version != expectedVersion
+                    || unitsByDay.equals(expected)) {
+                return false;
+            }
+            unitsByDay.clear();
+            unitsByDay.putAll(expected);
+            version++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package rental.project.service.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rental.project.model.Accommodation;
+import rental.project.model.Booking;
+import rental.project.notification.NotificationService;
+import rental.project.repository.accommodation.AccommodationRepository;
+import rental.project.repository.booking.BookingsRepository;
+
+/**
+ * Marks PENDING bookings whose check-out date has passed as EXPIRED.
+ *
+ * <p>Bookings are processed in chunks ordered by id, each chunk in its own
+ * transaction: the chunk is locked, its statuses are changed with one bulk
+ * update and the freed units are released per accommodation.
+ */
+@Slf4j
+@Service
+public class BookingExpiryService {
+    private final BookingsRepository bookingsRepository;
+    private final AccommodationRepository accommodationRepository;
+    private final NotificationService notificationService;
+    private final AvailabilityIndex availabilityIndex;
+    private final OccupancyLedger occupancyLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Counter expiredCounter;
+    private final Counter chunkCounter;
+    private final Timer runTimer;
+
+    public BookingExpiryService(BookingsRepository bookingsRepository,
+                                AccommodationRepository accommodationRepository,
+                                NotificationService notificationService,
+                                AvailabilityIndex availabilityIndex,
+                                OccupancyLedger occupancyLedger,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${booking.expiry.chunk-size}") int chunkSize) {
+        this.bookingsRepository = bookingsRepository;
+        this.accommodationRepository = accommodationRepository;
+        this.notificationService = notificationService;
+        this.availabilityIndex = availabilityIndex;
+        this.occupancyLedger = occupancyLedger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.expiredCounter = Counter.builder("booking.expiry.expired")
+                .description("Bookings marked as expired")
+                .register(meterRegistry);
+        this.chunkCounter = Counter.builder("booking.expiry.chunks")
+                .description("Booking expiry chunks processed")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("booking.expiry.duration")
+                .description("Duration of a booking expiry run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "0 12 18 * * ?")
+    public void markExpiredBookings() {
+        runTimer.record(this::expireAll);
+    }
+
+    private void expireAll() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        Long lastId = 0L;
+        while (lastId != null) {
+            Long afterId = lastId;
+            lastId = transactionTemplate.execute(status -> expireChunk(tomorrow, afterId));
+        }
+    }
+
+    /**
+     * Expires the next chunk of bookings after the given id.
+     *
+     * @return id of the last expired booking, or null when nothing was left
+     */
+    private Long expireChunk(LocalDate date, Long afterId) {
+        List<Booking> chunk = bookingsRepository.findBookBeforeDateByStatus(date,
+                Booking.BookingStatus.PENDING, afterId, PageRequest.of(0, chunkSize));
+        if (chunk.isEmpty()) {
+            return null;
+        }
+        bookingsRepository.updateStatusByIds(
+                chunk.stream().map(Booking::getId).toList(),
+                Booking.BookingStatus.EXPIRED);
+        Map<Long, List<Booking>> byAccommodation = chunk.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getAccommodation().getId(),
+                        TreeMap::new, Collectors.toList()));
+        byAccommodation.forEach((accommodationId, bookings) -> bookings.forEach(booking -> {
+            occupancyLedger.release(accommodationId,
+                    booking.getCheckinDate(), booking.getCheckoutDate());
+            availabilityIndex.release(accommodationId,
+                    booking.getCheckinDate(), booking.getCheckoutDate());
+        }));
+        for (Accommodation accommodation
+                : accommodationRepository.findAllById(byAccommodation.keySet())) {
+            notificationService.onAccommodationRelease(accommodation);
+        }
+        expiredCounter.increment(chunk.size());
+        chunkCounter.increment();
+        log.debug("Expired {} bookings of {} accommodations",
+                chunk.size(), byAccommodation.size());
+        return chunk.get(chunk.size() - 1).getId();
+    }
+}
@@ -8,6 +8,7 @@ import rental.project.dto.booking.BookingWithAccommodationInfoDto;
 import rental.project.dto.booking.CreateBookingDto;
 import rental.project.dto.booking.UpdateBookingDto;
 import rental.project.dto.booking.UpdateBookingStatusDto;
+import rental.project.dto.page.CursorPageDto;
 import rental.project.model.Booking;
 
 public interface BookingService {
@@ -17,10 +18,20 @@ public interface BookingService {
             Pageable pageable, Long userId,
             Booking.BookingStatus[] statuses);
 
+    CursorPageDto<BookingDto> scrollByUserIdAndStatus(
+            Long userId, Booking.BookingStatus[] statuses,
+            String cursor, int size);
+
     List<BookingDto> getAllMyBookings(Pageable pageable);
 
+    CursorPageDto<BookingDto> scrollMyBookings(String cursor, int size);
+
+    String getMyBookingsETag(Pageable pageable);
+
     BookingWithAccommodationInfoDto getBookingDetailsById(Long bookingId);
 
+    String getBookingETag(Long bookingId);
+
     BookingDto setBookingStatusCancelled(Long bookingId);
 
     BookingDto updateBookingStatus(
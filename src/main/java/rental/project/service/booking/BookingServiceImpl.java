@@ -7,14 +7,16 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import rental.project.dto.booking.BookingDto;
+import rental.project.dto.booking.BookingVersionDto;
 import rental.project.dto.booking.BookingWithAccommodationInfoDto;
 import rental.project.dto.booking.CreateBookingDto;
 import rental.project.dto.booking.UpdateBookingDto;
 import rental.project.dto.booking.UpdateBookingStatusDto;
+import rental.project.dto.page.CursorPageDto;
 import rental.project.exception.AccessException;
 import rental.project.exception.BookingException;
 import rental.project.mapper.BookingMapper;
@@ -27,6 +29,9 @@ import rental.project.repository.accommodation.AccommodationRepository;
 import rental.project.repository.booking.BookingsRepository;
 import rental.project.repository.payment.PaymentsRepository;
 import rental.project.security.SecurityUtil;
+import rental.project.utils.CursorUtil;
+import rental.project.utils.ETagUtil;
+import rental.project.utils.PageUtil;
 
 @Service
 @Transactional
@@ -37,25 +42,14 @@ public class BookingServiceImpl implements BookingService {
     private final BookingMapper bookingMapper;
     private final PaymentsRepository paymentsRepository;
     private final NotificationService notificationService;
+    private final AvailabilityIndex availabilityIndex;
+    private final OccupancyLedger occupancyLedger;
+    private final ReservationRetry reservationRetry;
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookingDto save(CreateBookingDto createBookingDto) {
-        Long loggedInUserId = SecurityUtil.getLoggedInUserId();
-        if (!paymentsRepository.findAllByStatus(
-                Payment.PaymentStatus.PENDING, loggedInUserId).isEmpty()) {
-            throw new AccessException("You have already pending payment to pay first");
-        }
-        Accommodation accommodation = getAccommodationById(
-                createBookingDto.getAccommodationId());
-        if (checkAccommodationAvailability(accommodation, createBookingDto)) {
-            throw new AccessException("This accommodation is not available.");
-        }
-        createBookingDto.setUserId(loggedInUserId);
-        createBookingDto.setStatus("PENDING");
-        Booking booking = bookingMapper.toEntity(createBookingDto);
-        BookingDto dto = bookingMapper.toDto(bookingsRepository.save(booking));
-        notificationService.onBookingCreation(dto);
-        return dto;
+        return reservationRetry.execute(() -> create(createBookingDto));
     }
 
     @Override
@@ -69,19 +63,53 @@ public class BookingServiceImpl implements BookingService {
                 .toList();
     }
 
+    @Override
+    public CursorPageDto<BookingDto> scrollByUserIdAndStatus(
+            Long userId,
+            Booking.BookingStatus[] statuses,
+            String cursor,
+            int size) {
+        Long afterId = CursorUtil.decode(cursor, 1, keys -> Long.valueOf(keys[0]));
+        return CursorUtil.page(bookingsRepository.findByUserIdAndStatusAfter(userId, statuses,
+                        afterId == null ? 0L : afterId, CursorUtil.seekLimit(size)),
+                size, bookingMapper::toDto, booking -> CursorUtil.encode(booking.getId()));
+    }
+
     @Override
     public List<BookingDto> getAllMyBookings(Pageable pageable) {
         Long loggedInUserId = SecurityUtil.getLoggedInUserId();
-        return bookingsRepository.findByUserId(loggedInUserId, pageable)
+        return bookingsRepository.findByUserId(loggedInUserId, PageUtil.orderedById(pageable))
                 .stream()
                 .map(bookingMapper::toDto)
                 .toList();
     }
 
+    @Override
+    public CursorPageDto<BookingDto> scrollMyBookings(String cursor, int size) {
+        BookingPeriodCursor after = CursorUtil.decode(cursor, 2,
+                keys -> new BookingPeriodCursor(LocalDate.parse(keys[0]),
+                        Long.valueOf(keys[1])));
+        List<Booking> bookings = bookingsRepository.findByUserIdAfter(
+                SecurityUtil.getLoggedInUserId(),
+                after == null ? null : after.checkinDate(),
+                after == null ? 0L : after.bookingId(),
+                CursorUtil.seekLimit(size));
+        return CursorUtil.page(bookings, size, bookingMapper::toDto,
+                booking -> CursorUtil.encode(booking.getCheckinDate(), booking.getId()));
+    }
+
+    @Override
+    public String getMyBookingsETag(Pageable pageable) {
+        return ETagUtil.of(bookingsRepository.findVersionsByUserId(
+                SecurityUtil.getLoggedInUserId(), PageUtil.orderedById(pageable)));
+    }
+
     @Override
     public BookingWithAccommodationInfoDto getBookingDetailsById(Long bookingId) {
         User loggedInUser = SecurityUtil.getLoggedInUser();
-        Booking booking = getBookingById(bookingId);
+        Booking booking = bookingsRepository.findWithAccommodationById(bookingId).orElseThrow(
+                () -> new EntityNotFoundException("Booking with id "
+                        + bookingId + " not found"));
         if (!booking.getUser().getId().equals(loggedInUser.getId())
                 && loggedInUser.getRole() != User.Role.ADMIN) {
             throw new AccessException("You can't access this booking data");
@@ -89,6 +117,19 @@ public class BookingServiceImpl implements BookingService {
         return bookingMapper.toDetailedDto(booking);
     }
 
+    @Override
+    public String getBookingETag(Long bookingId) {
+        User loggedInUser = SecurityUtil.getLoggedInUser();
+        BookingVersionDto versions = bookingsRepository.findVersionById(bookingId)
+                .orElseThrow(() -> new EntityNotFoundException("Booking with id "
+                        + bookingId + " not found"));
+        if (!versions.userId().equals(loggedInUser.getId())
+                && loggedInUser.getRole() != User.Role.ADMIN) {
+            throw new AccessException("You can't access this booking data");
+        }
+        return ETagUtil.of(bookingId, versions.version(), versions.accommodationVersion());
+    }
+
     @Override
     public BookingDto setBookingStatusCancelled(Long bookingId) {
         User loggedInUser = SecurityUtil.getLoggedInUser();
@@ -99,6 +140,7 @@ public class BookingServiceImpl implements BookingService {
         if (!checkAccess(loggedInUser, booking)) {
             throw new AccessException("You can't access this booking");
         }
+        releaseIfActive(booking);
         booking.setStatus(Booking.BookingStatus.CANCELED);
         BookingDto dto = bookingMapper.toDto(bookingsRepository.save(booking));
         notificationService.onAccommodationRelease(booking.getAccommodation());
@@ -107,20 +149,30 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookingDto updateBookingStatus(Long bookingId, UpdateBookingStatusDto updateDto) {
-        Booking booking = getBookingById(bookingId);
-        if (booking.getStatus() == Booking.BookingStatus.CANCELED) {
-            throw new AccessException("This booking is cancelled");
-        }
-        booking.setStatus(updateDto.getStatus());
-        return bookingMapper.toDto(bookingsRepository.save(booking));
+        return reservationRetry.execute(() -> {
+            Booking booking = getBookingById(bookingId);
+            if (booking.getStatus() == Booking.BookingStatus.CANCELED) {
+                throw new AccessException("This booking is cancelled");
+            }
+            releaseIfActive(booking);
+            booking.setStatus(updateDto.getStatus());
+            reserveIfActive(booking);
+            return bookingMapper.toDto(bookingsRepository.save(booking));
+        });
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookingDto updateBooking(Long bookingId, UpdateBookingDto updateDto) {
-        Booking booking = getBookingById(bookingId);
-        bookingMapper.updateFromDto(updateDto, booking);
-        return bookingMapper.toDto(bookingsRepository.save(booking));
+        return reservationRetry.execute(() -> {
+            Booking booking = getBookingById(bookingId);
+            releaseIfActive(booking);
+            bookingMapper.updateFromDto(updateDto, booking);
+            reserveIfActive(booking);
+            return bookingMapper.toDto(bookingsRepository.save(booking));
+        });
     }
 
     @Override
@@ -132,17 +184,32 @@ public class BookingServiceImpl implements BookingService {
                 .multiply(BigDecimal.valueOf(dayDifference));
     }
 
-    @Scheduled(cron = "0 12 18 * * ?")
-    public void markExpiredBookings() {
-        LocalDate tomorrow = LocalDate.now().plusDays(1);
-        List<Booking> expired = bookingsRepository
-                .findBookBeforeDateByStatus(tomorrow,
-                        Booking.BookingStatus.PENDING);
-        for (Booking booking : expired) {
-            booking.setStatus(Booking.BookingStatus.EXPIRED);
-            notificationService.onAccommodationRelease(booking.getAccommodation());
+    private record BookingPeriodCursor(LocalDate checkinDate, Long bookingId) {
+    }
+
+    private BookingDto create(CreateBookingDto createBookingDto) {
+        Long loggedInUserId = SecurityUtil.getLoggedInUserId();
+        if (!paymentsRepository.findAllByStatus(
+                Payment.PaymentStatus.PENDING, loggedInUserId).isEmpty()) {
+            throw new AccessException("You have already pending payment to pay first");
         }
-        bookingsRepository.saveAll(expired);
+        Accommodation accommodation = getAccommodationById(
+                createBookingDto.getAccommodationId());
+        if (!availabilityIndex.tryReserve(accommodation.getId(),
+                createBookingDto.getCheckinDate(),
+                createBookingDto.getCheckoutDate(),
+                accommodation.getAvailability())
+                || !occupancyLedger.reserve(accommodation.getId(),
+                        createBookingDto.getCheckinDate(),
+                        createBookingDto.getCheckoutDate())) {
+            throw new AccessException("This accommodation is not available.");
+        }
+        createBookingDto.setUserId(loggedInUserId);
+        createBookingDto.setStatus("PENDING");
+        Booking booking = bookingMapper.toEntity(createBookingDto);
+        BookingDto dto = bookingMapper.toDto(bookingsRepository.save(booking));
+        notificationService.onBookingCreation(dto);
+        return dto;
     }
 
     private boolean checkAccess(User user, Booking booking) {
@@ -164,17 +231,25 @@ public class BookingServiceImpl implements BookingService {
                 );
     }
 
-    private List<Booking> getBookingsByDateRange(
-            Long accommodationId, LocalDate first, LocalDate second) {
-        return bookingsRepository.findByDateRange(accommodationId, first, second);
+    private void releaseIfActive(Booking booking) {
+        if (AvailabilityIndex.ACTIVE_STATUSES.contains(booking.getStatus())) {
+            Long accommodationId = booking.getAccommodation().getId();
+            occupancyLedger.release(accommodationId,
+                    booking.getCheckinDate(), booking.getCheckoutDate());
+            availabilityIndex.release(accommodationId,
+                    booking.getCheckinDate(), booking.getCheckoutDate());
+        }
     }
 
-    private boolean checkAccommodationAvailability(Accommodation accommodation,
-                                                   CreateBookingDto createBookingDto) {
-        List<Booking> bookingsByDateRange = getBookingsByDateRange(accommodation.getId(),
-                createBookingDto.getCheckinDate(),
-                createBookingDto.getCheckoutDate());
-
-        return accommodation.getAvailability() - 1 < bookingsByDateRange.size();
+    private void reserveIfActive(Booking booking) {
+        if (AvailabilityIndex.ACTIVE_STATUSES.contains(booking.getStatus())) {
+            Long accommodationId = booking.getAccommodation().getId();
+            if (!occupancyLedger.reserve(accommodationId,
+                    booking.getCheckinDate(), booking.getCheckoutDate())) {
+                throw new AccessException("This accommodation is not available.");
+            }
+            availabilityIndex.reserve(accommodationId,
+                    booking.getCheckinDate(), booking.getCheckoutDate());
+        }
     }
 }
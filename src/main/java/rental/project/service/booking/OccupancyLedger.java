@@ -0,0 +1,43 @@
+package rental.project.service.booking;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import rental.project.repository.occupancy.AccommodationOccupancyRepository;
+
+/**
+ * Per-day booked units of every accommodation kept in the database.
+ *
+ * <p>A unit is taken with a single conditional update that only succeeds for
+ * days still below the accommodation availability, so concurrent bookings of
+ * the last unit cannot both succeed. Both operations must run inside the
+ * transaction that changes the booking, so a failed reservation is rolled back
+ * together with it.
+ *
+ * <p>Days are only inserted when some of them are missing, in date order.
+ * Concurrent inserts of the same days can still deadlock, so callers run
+ * their transaction through {@link ReservationRetry}.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class OccupancyLedger {
+    private final AccommodationOccupancyRepository occupancyRepository;
+
+    public boolean reserve(Long accommodationId, LocalDate checkin, LocalDate checkout) {
+        LocalDate lastNight = AvailabilityIndex.lastNight(checkin, checkout);
+        long nights = ChronoUnit.DAYS.between(checkin, lastNight) + 1;
+        if (occupancyRepository.countDays(accommodationId, checkin, lastNight) < nights) {
+            occupancyRepository.createMissingDays(accommodationId, checkin, lastNight);
+        }
+        return occupancyRepository.reserveUnit(accommodationId, checkin, lastNight) == nights;
+    }
+
+    public void release(Long accommodationId, LocalDate checkin, LocalDate checkout) {
+        occupancyRepository.releaseUnit(accommodationId, checkin,
+                AvailabilityIndex.lastNight(checkin, checkout));
+    }
+}
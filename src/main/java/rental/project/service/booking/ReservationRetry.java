@@ -0,0 +1,40 @@
+package rental.project.service.booking;
+
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs a booking change that takes units of the {@link OccupancyLedger} in a
+ * transaction of its own and runs it again when MySQL rolls it back as a
+ * deadlock victim or after a lock wait timeout.
+ *
+ * <p>Must be called outside a transaction, since only a whole transaction can
+ * be repeated.
+ */
+@Component
+public class ReservationRetry {
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+
+    public ReservationRetry(PlatformTransactionManager transactionManager,
+                            @Value("${booking.reservation.max-attempts}") int maxAttempts) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (TransientDataAccessException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
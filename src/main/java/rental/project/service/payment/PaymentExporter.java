@@ -0,0 +1,69 @@
+package rental.project.service.payment;
+
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import rental.project.dto.payment.PaymentExportDto;
+
+/**
+ * Writes all payments as CSV while reading them, so an export of any size
+ * holds only one fetch of rows in memory.
+ *
+ * <p>Rows are read as projections, not entities, so the persistence context
+ * does not grow during the export. MySQL only streams rows for a positive
+ * fetch size when the connection has {@code useCursorFetch} enabled.
+ */
+@Component
+public class PaymentExporter {
+    private static final String CSV_HEADER = "id,booking_id,user_id,status,session_id,amount";
+
+    private static final String EXPORT_QUERY =
+            "SELECT new rental.project.dto.payment.PaymentExportDto("
+                    + "p.id, b.id, u.id, p.status, p.sessionId, p.amount) "
+                    + "FROM Payment p "
+                    + "JOIN p.booking b "
+                    + "JOIN b.user u "
+                    + "ORDER BY p.id";
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    public PaymentExporter(EntityManager entityManager,
+                           @Value("${payment.export.fetch-size}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCsv(Writer writer) throws IOException {
+        try (Stream<PaymentExportDto> payments = entityManager
+                .createQuery(EXPORT_QUERY, PaymentExportDto.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            Iterator<PaymentExportDto> iterator = payments.iterator();
+            while (iterator.hasNext()) {
+                writer.write(toCsv(iterator.next()));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private static String toCsv(PaymentExportDto payment) {
+        return payment.paymentId()
+                + "," + payment.bookingId()
+                + "," + payment.userId()
+                + "," + payment.status()
+                + "," + payment.sessionId()
+                + "," + payment.amount().toPlainString();
+    }
+}
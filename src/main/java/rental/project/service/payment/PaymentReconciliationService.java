@@ -0,0 +1,134 @@
+package rental.project.service.payment;
+
+import com.stripe.exception.StripeException;
+import com.stripe.model.checkout.Session;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import rental.project.dto.payment.PaymentSessionDto;
+import rental.project.model.Payment;
+import rental.project.repository.payment.PaymentsRepository;
+import rental.project.stripe.StripeUtil;
+
+/**
+ * Marks PENDING payments whose Stripe session has expired as EXPIRED.
+ *
+ * <p>Session states are pulled in bulk by listing the sessions created within
+ * the reconciliation window. Sessions missing from that listing are looked up
+ * one by one on a bounded pool, and all transitions are written with batched
+ * updates in a single transaction.
+ */
+@Slf4j
+@Service
+public class PaymentReconciliationService {
+    private final PaymentsRepository paymentsRepository;
+    private final StripeUtil stripeUtil;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService lookupExecutor;
+    private final Duration window;
+    private final int batchSize;
+
+    public PaymentReconciliationService(
+            PaymentsRepository paymentsRepository,
+            StripeUtil stripeUtil,
+            PlatformTransactionManager transactionManager,
+            @Value("${stripe.reconciliation.window-hours}") long windowHours,
+            @Value("${stripe.reconciliation.parallelism}") int parallelism,
+            @Value("${stripe.reconciliation.batch-size}") int batchSize) {
+        this.paymentsRepository = paymentsRepository;
+        this.stripeUtil = stripeUtil;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lookupExecutor = Executors.newFixedThreadPool(parallelism);
+        this.window = Duration.ofHours(windowHours);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "0 * * * * *")
+    public void markExpiredPayments() {
+        List<PaymentSessionDto> pending = paymentsRepository
+                .findSessionsByStatus(Payment.PaymentStatus.PENDING);
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, String> statuses = listSessionStatuses();
+        List<String> misses = pending.stream()
+                .map(PaymentSessionDto::sessionId)
+                .filter(sessionId -> !statuses.containsKey(sessionId))
+                .toList();
+        statuses.putAll(lookupSessionStatuses(misses));
+        List<String> expired = pending.stream()
+                .map(PaymentSessionDto::sessionId)
+                .filter(sessionId -> PaymentServiceImpl.SESSION_EXPIRED_STATUS
+                        .equals(statuses.get(sessionId)))
+                .toList();
+        if (!expired.isEmpty()) {
+            int updated = transactionTemplate.execute(status -> expire(expired));
+            log.info("Reconciled {} pending payments, {} expired, {} looked up one by one",
+                    pending.size(), updated, misses.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lookupExecutor.shutdownNow();
+    }
+
+    private Map<String, String> listSessionStatuses() {
+        Map<String, String> statuses = new HashMap<>();
+        try {
+            long createdFrom = Instant.now().minus(window).getEpochSecond();
+            for (Session session : stripeUtil.listSessions(createdFrom)) {
+                statuses.put(session.getId(), session.getStatus());
+            }
+        } catch (StripeException e) {
+            log.warn("Can't list payment sessions, falling back to lookups", e);
+        }
+        return statuses;
+    }
+
+    private Map<String, String> lookupSessionStatuses(List<String> sessionIds) {
+        List<CompletableFuture<Session>> lookups = sessionIds.stream()
+                .map(sessionId -> CompletableFuture.supplyAsync(
+                        () -> receiveSession(sessionId), lookupExecutor))
+                .toList();
+        Map<String, String> statuses = new HashMap<>();
+        for (CompletableFuture<Session> lookup : lookups) {
+            Session session = lookup.join();
+            if (session != null) {
+                statuses.put(session.getId(), session.getStatus());
+            }
+        }
+        return statuses;
+    }
+
+    private Session receiveSession(String sessionId) {
+        try {
+            return stripeUtil.receiveSession(sessionId);
+        } catch (StripeException e) {
+            return null;
+        }
+    }
+
+    private int expire(List<String> sessionIds) {
+        int updated = 0;
+        for (int from = 0; from < sessionIds.size(); from += batchSize) {
+            updated += paymentsRepository.updateStatusBySessionIds(
+                    sessionIds.subList(from, Math.min(from + batchSize, sessionIds.size())),
+                    Payment.PaymentStatus.PENDING,
+                    Payment.PaymentStatus.EXPIRED);
+        }
+        return updated;
+    }
+}
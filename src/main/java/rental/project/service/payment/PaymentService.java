@@ -2,6 +2,7 @@ package rental.project.service.payment;
 
 import java.util.List;
 import org.springframework.data.domain.Pageable;
+import rental.project.dto.page.CursorPageDto;
 import rental.project.dto.payment.CreatePaymentDto;
 import rental.project.dto.payment.PaymentDto;
 
@@ -10,6 +11,10 @@ public interface PaymentService {
 
     List<PaymentDto> getAllByUserId(Pageable pageable, Long userId);
 
+    CursorPageDto<PaymentDto> scrollByUserId(Long userId, String cursor, int size);
+
+    String getPaymentsETag(Pageable pageable, Long userId);
+
     PaymentDto save(CreatePaymentDto createPaymentDto);
 
     PaymentDto success(String sessionId);
@@ -11,13 +11,11 @@ import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import rental.project.dto.booking.BookingWithAccommodationInfoDto;
+import rental.project.dto.page.CursorPageDto;
 import rental.project.dto.payment.CreatePaymentDto;
 import rental.project.dto.payment.PaymentDto;
 import rental.project.exception.PaymentException;
-import rental.project.mapper.BookingMapper;
 import rental.project.mapper.PaymentMapper;
 import rental.project.model.Booking;
 import rental.project.model.Payment;
@@ -26,6 +24,9 @@ import rental.project.repository.booking.BookingsRepository;
 import rental.project.repository.payment.PaymentsRepository;
 import rental.project.service.booking.BookingService;
 import rental.project.stripe.StripeUtil;
+import rental.project.utils.CursorUtil;
+import rental.project.utils.ETagUtil;
+import rental.project.utils.PageUtil;
 
 @Service
 @Transactional
@@ -37,7 +38,6 @@ public class PaymentServiceImpl implements PaymentService {
 
     private final BookingService bookingService;
     private final StripeUtil stripeUtil;
-    private final BookingMapper bookingMapper;
     private final PaymentMapper paymentMapper;
     private final PaymentsRepository paymentsRepository;
     private final NotificationService notificationService;
@@ -45,7 +45,7 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     public List<PaymentDto> getAll(Pageable pageable) {
-        return paymentsRepository.findAll()
+        return paymentsRepository.findAll(pageable)
                 .stream()
                 .map(paymentMapper::toDto)
                 .toList();
@@ -53,12 +53,26 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     public List<PaymentDto> getAllByUserId(Pageable pageable, Long userId) {
-        return paymentsRepository.findAllByUserId(userId, pageable)
+        return paymentsRepository.findAllByUserId(userId, PageUtil.orderedById(pageable))
                 .stream()
                 .map(paymentMapper::toDto)
                 .toList();
     }
 
+    @Override
+    public CursorPageDto<PaymentDto> scrollByUserId(Long userId, String cursor, int size) {
+        Long afterId = CursorUtil.decode(cursor, 1, keys -> Long.valueOf(keys[0]));
+        return CursorUtil.page(paymentsRepository.findAllByUserIdAfter(userId,
+                        afterId == null ? 0L : afterId, CursorUtil.seekLimit(size)),
+                size, paymentMapper::toDto, payment -> CursorUtil.encode(payment.getId()));
+    }
+
+    @Override
+    public String getPaymentsETag(Pageable pageable, Long userId) {
+        return ETagUtil.of(paymentsRepository.findVersionsByUserId(userId,
+                PageUtil.orderedById(pageable)));
+    }
+
     @Override
     public PaymentDto save(CreatePaymentDto createPaymentDto) {
         Long bookingId = createPaymentDto.getBookingId();
@@ -66,9 +80,8 @@ public class PaymentServiceImpl implements PaymentService {
         if (byBookingId.isPresent()) {
             throw new PaymentException("Payment already exists");
         }
-        BookingWithAccommodationInfoDto bookingDetailsById =
-                bookingService.getBookingDetailsById(bookingId);
-        return createPayment(bookingId, bookingDetailsById);
+        bookingService.getBookingDetailsById(bookingId);
+        return createPayment(bookingId);
     }
 
     @Override
@@ -136,34 +149,15 @@ public class PaymentServiceImpl implements PaymentService {
         );
     }
 
-    @Scheduled(cron = "0 * * * * *")
-    public void markExpiredPayments() {
-        List<Payment> paymentStream = paymentsRepository.findAllByStatus(
-                Payment.PaymentStatus.PENDING, null)
-                .stream()
-                .filter(p -> {
-                    try {
-                        Session session = stripeUtil.receiveSession(p.getSessionId());
-                        return session.getStatus().equals(SESSION_EXPIRED_STATUS);
-                    } catch (StripeException e) {
-                        return false;
-                    }
-                })
-                .peek(p -> p.setStatus(Payment.PaymentStatus.EXPIRED))
-                .toList();
-
-        paymentsRepository.saveAll(paymentStream);
-    }
-
-    private PaymentDto createPayment(
-            Long bookingId, BookingWithAccommodationInfoDto bookingData) {
+    private PaymentDto createPayment(Long bookingId) {
         BigDecimal totalAmount = bookingService.countTotalAmount(bookingId);
         Payment payment = new Payment();
         try {
             Session session = newSession(totalAmount);
-            Booking booking = bookingMapper.toEntity(bookingData);
+            Booking booking = bookingsRepository.findById(bookingId).orElseThrow(
+                    () -> new EntityNotFoundException("Booking with id "
+                            + bookingId + " not found"));
             booking.setStatus(Booking.BookingStatus.CONFIRMED);
-            bookingsRepository.save(booking);
             payment.setBooking(booking)
                     .setAmount(totalAmount)
                     .setStatus(Payment.PaymentStatus.PENDING)
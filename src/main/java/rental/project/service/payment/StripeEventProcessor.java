@@ -0,0 +1,84 @@
+package rental.project.service.payment;
+
+import com.stripe.exception.EventDataObjectDeserializationException;
+import com.stripe.model.Event;
+import com.stripe.model.StripeObject;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.ApiResource;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import rental.project.mapper.PaymentMapper;
+import rental.project.model.Booking;
+import rental.project.model.Payment;
+import rental.project.model.StripeEvent;
+import rental.project.notification.NotificationService;
+import rental.project.repository.payment.PaymentsRepository;
+import rental.project.repository.stripeevent.StripeEventRepository;
+
+/**
+ * Applies stored Stripe events to payments and bookings once the transaction
+ * that stored them has committed. Transitions only move payments out of
+ * PENDING, so an event applied twice has no further effect.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StripeEventProcessor {
+    public static final String SESSION_COMPLETED_EVENT = "checkout.session.completed";
+    public static final String SESSION_EXPIRED_EVENT = "checkout.session.expired";
+
+    private final StripeEventRepository stripeEventRepository;
+    private final PaymentsRepository paymentsRepository;
+    private final PaymentMapper paymentMapper;
+    private final NotificationService notificationService;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onEventReceived(StripeEventReceived received) {
+        Optional<StripeEvent> stored = stripeEventRepository.findById(received.eventId());
+        if (stored.isEmpty()
+                || stored.get().getStatus() == StripeEvent.EventStatus.PROCESSED) {
+            return;
+        }
+        StripeEvent stripeEvent = stored.get();
+        try {
+            apply(StripeObject.deserializeStripeObject(stripeEvent.getPayload(),
+                    Event.class, ApiResource.getGlobalResponseGetter()));
+            stripeEvent.setStatus(StripeEvent.EventStatus.PROCESSED)
+                    .setProcessedAt(LocalDateTime.now());
+        } catch (EventDataObjectDeserializationException e) {
+            log.warn("Can't read data of Stripe event {}", stripeEvent.getId(), e);
+            stripeEvent.setStatus(StripeEvent.EventStatus.FAILED);
+        }
+    }
+
+    private void apply(Event event) throws EventDataObjectDeserializationException {
+        switch (event.getType()) {
+            case SESSION_COMPLETED_EVENT -> pendingPayment(event).ifPresent(payment -> {
+                payment.setStatus(Payment.PaymentStatus.PAID);
+                payment.getBooking().setStatus(Booking.BookingStatus.CONFIRMED);
+                notificationService.onSuccessfulPayment(paymentMapper.toDto(payment));
+            });
+            case SESSION_EXPIRED_EVENT -> pendingPayment(event).ifPresent(payment ->
+                    payment.setStatus(Payment.PaymentStatus.EXPIRED));
+            default -> log.debug("Ignoring Stripe event {} of type {}",
+                    event.getId(), event.getType());
+        }
+    }
+
+    private Optional<Payment> pendingPayment(Event event)
+            throws EventDataObjectDeserializationException {
+        Session session = (Session) event.getDataObjectDeserializer().deserializeUnsafe();
+        return paymentsRepository.findBySessionId(session.getId())
+                .filter(payment -> payment.getStatus() == Payment.PaymentStatus.PENDING);
+    }
+}
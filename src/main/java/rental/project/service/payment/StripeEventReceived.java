@@ -0,0 +1,4 @@
+package rental.project.service.payment;
+
+public record StripeEventReceived(String eventId) {
+}
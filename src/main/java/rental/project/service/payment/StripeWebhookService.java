@@ -0,0 +1,10 @@
+package rental.project.service.payment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StripeWebhookService {
+    void receive(String payload, String signature);
+
+    List<String> replay(LocalDateTime from);
+}
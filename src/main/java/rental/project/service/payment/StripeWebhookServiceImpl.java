@@ -0,0 +1,52 @@
+package rental.project.service.payment;
+
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.model.Event;
+import com.stripe.net.Webhook;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import rental.project.exception.WebhookException;
+import rental.project.model.StripeEvent;
+import rental.project.repository.stripeevent.StripeEventRepository;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class StripeWebhookServiceImpl implements StripeWebhookService {
+    private final StripeEventRepository stripeEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${stripe.webhook.secret}")
+    private String webhookSecret;
+
+    @Override
+    public void receive(String payload, String signature) {
+        Event event;
+        try {
+            event = Webhook.constructEvent(payload, signature, webhookSecret);
+        } catch (SignatureVerificationException e) {
+            throw new WebhookException("Stripe signature verification failed");
+        }
+        if (stripeEventRepository.insertIfAbsent(event.getId(), event.getType(),
+                payload, LocalDateTime.now()) > 0) {
+            eventPublisher.publishEvent(new StripeEventReceived(event.getId()));
+        }
+    }
+
+    @Override
+    public List<String> replay(LocalDateTime from) {
+        List<String> eventIds = stripeEventRepository.findIdsReceivedSince(from);
+        if (!eventIds.isEmpty()) {
+            stripeEventRepository.updateStatusByIds(eventIds,
+                    StripeEvent.EventStatus.RECEIVED);
+            eventIds.forEach(eventId ->
+                    eventPublisher.publishEvent(new StripeEventReceived(eventId)));
+        }
+        return eventIds;
+    }
+}
@@ -0,0 +1,142 @@
+package rental.project.service.telegramuser;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rental.project.model.TelegramUser;
+import rental.project.repository.telegram.TelegramUserDataRepository;
+
+/**
+ * In-memory copy of the registered Telegram chats and their subscriptions.
+ *
+ * <p>Readers work on an immutable snapshot; every change publishes a new one,
+ * so answering who receives an event never touches the database.
+ *
+ * <p>The chats are loaded while the bean is initialized. Until then the
+ * registry reports itself as not loaded, and the outbox relay leaves events
+ * alone instead of fanning them out to nobody.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TelegramSubscriberRegistry {
+    private final TelegramUserDataRepository telegramUserDataRepository;
+
+    private volatile Map<String, Subscriber> subscribers = Map.of();
+    private volatile boolean loaded;
+
+    @PostConstruct
+    public void load() {
+        Map<String, Subscriber> found = new HashMap<>();
+        for (TelegramUser telegramUser : telegramUserDataRepository.findAll()) {
+            found.put(telegramUser.getChatId(), Subscriber.of(telegramUser));
+        }
+        subscribers = Map.copyOf(found);
+        loaded = true;
+        log.info("Loaded {} Telegram subscribers", found.size());
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean contains(String chatId) {
+        return subscribers.containsKey(chatId);
+    }
+
+    public Set<String> chatIds() {
+        return subscribers.keySet();
+    }
+
+    /**
+     * Returns the chats subscribed to the given topic. City and accommodation
+     * type filters are only applied when the event carries them.
+     */
+    public Set<String> chatIds(TelegramUser.Topic topic, String city, String type) {
+        return subscribers.values().stream()
+                .filter(subscriber -> subscriber.accepts(topic, city, type))
+                .map(Subscriber::chatId)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Publishes the subscription of the given user. When called inside a
+     * transaction it is published only once the transaction commits.
+     */
+    public void register(TelegramUser telegramUser) {
+        Subscriber subscriber = Subscriber.of(telegramUser);
+        afterCommit(() -> put(subscriber));
+    }
+
+    /**
+     * Drops the given chat. When called inside a transaction it is dropped
+     * only once the transaction commits.
+     */
+    public void unregister(String chatId) {
+        afterCommit(() -> remove(chatId));
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            change.run();
+                        }
+                    });
+        } else {
+            change.run();
+        }
+    }
+
+    private synchronized void put(Subscriber subscriber) {
+        Map<String, Subscriber> updated = new HashMap<>(subscribers);
+        updated.put(subscriber.chatId(), subscriber);
+        subscribers = Map.copyOf(updated);
+    }
+
+    private synchronized void remove(String chatId) {
+        Map<String, Subscriber> updated = new HashMap<>(subscribers);
+        updated.remove(chatId);
+        subscribers = Map.copyOf(updated);
+    }
+
+    private record Subscriber(String chatId, Set<TelegramUser.Topic> topics,
+                              Set<String> cities, Set<String> types) {
+        static Subscriber of(TelegramUser telegramUser) {
+            return new Subscriber(telegramUser.getChatId(),
+                    normalize(telegramUser.getTopics()).stream()
+                            .map(TelegramUser.Topic::valueOf)
+                            .collect(Collectors.toUnmodifiableSet()),
+                    normalize(telegramUser.getCities()),
+                    normalize(telegramUser.getAccommodationTypes()));
+        }
+
+        boolean accepts(TelegramUser.Topic topic, String city, String type) {
+            return (topics.isEmpty() || topics.contains(topic))
+                    && (city == null || cities.isEmpty()
+                            || cities.contains(city.toUpperCase(Locale.ROOT)))
+                    && (type == null || types.isEmpty()
+                            || types.contains(type.toUpperCase(Locale.ROOT)));
+        }
+
+        private static Set<String> normalize(String[] values) {
+            return values == null
+                    ? Set.of()
+                    : Arrays.stream(values)
+                            .map(value -> value.trim().toUpperCase(Locale.ROOT))
+                            .filter(value -> !value.isEmpty())
+                            .collect(Collectors.toUnmodifiableSet());
+        }
+    }
+}
@@ -11,4 +11,16 @@ public interface TelegramUserDataService {
     TelegramUser getTelegramUserByUserId(Long userId);
 
     Set<String> getTelegramUserChatIds();
+
+    Set<String> getSubscriberChatIds(TelegramUser.Topic topic, String city, String type);
+
+    boolean isSubscribed(String chatId);
+
+    TelegramUser updateTopics(String chatId, String[] topics);
+
+    TelegramUser updateCities(String chatId, String[] cities);
+
+    TelegramUser updateAccommodationTypes(String chatId, String[] types);
+
+    void unsubscribe(String chatId);
 }
@@ -2,9 +2,12 @@ package rental.project.service.telegramuser;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import java.util.Arrays;
+import java.util.Locale;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import rental.project.model.Accommodation;
 import rental.project.model.TelegramUser;
 import rental.project.model.User;
 import rental.project.repository.telegram.TelegramUserDataRepository;
@@ -17,6 +20,7 @@ public class TelegramUserDataServiceImpl
         implements TelegramUserDataService {
     private final UserDetailsServiceImpl userDetailsService;
     private final TelegramUserDataRepository telegramUserDataRepository;
+    private final TelegramSubscriberRegistry telegramSubscriberRegistry;
 
     @Override
     public TelegramUser save(String email, String chatId) {
@@ -24,7 +28,9 @@ public class TelegramUserDataServiceImpl
         TelegramUser telegramUser = new TelegramUser()
                 .setChatId(chatId)
                 .setUser((user));
-        return telegramUserDataRepository.save(telegramUser);
+        TelegramUser saved = telegramUserDataRepository.save(telegramUser);
+        telegramSubscriberRegistry.register(saved);
+        return saved;
     }
 
     @Override
@@ -45,6 +51,51 @@ public class TelegramUserDataServiceImpl
 
     @Override
     public Set<String> getTelegramUserChatIds() {
-        return telegramUserDataRepository.findAllTelegramChatIds();
+        return telegramSubscriberRegistry.chatIds();
+    }
+
+    @Override
+    public Set<String> getSubscriberChatIds(TelegramUser.Topic topic, String city, String type) {
+        return telegramSubscriberRegistry.chatIds(topic, city, type);
+    }
+
+    @Override
+    public boolean isSubscribed(String chatId) {
+        return telegramSubscriberRegistry.contains(chatId);
+    }
+
+    @Override
+    public TelegramUser updateTopics(String chatId, String[] topics) {
+        String[] validated = Arrays.stream(topics)
+                .map(topic -> TelegramUser.Topic.valueOf(topic.toUpperCase(Locale.ROOT)).name())
+                .toArray(String[]::new);
+        return updateSubscription(getTelegramUserByChatId(chatId).setTopics(validated));
+    }
+
+    @Override
+    public TelegramUser updateCities(String chatId, String[] cities) {
+        return updateSubscription(getTelegramUserByChatId(chatId).setCities(cities));
+    }
+
+    @Override
+    public TelegramUser updateAccommodationTypes(String chatId, String[] types) {
+        String[] validated = Arrays.stream(types)
+                .map(type -> Accommodation.AccommodationType
+                        .valueOf(type.toUpperCase(Locale.ROOT)).name())
+                .toArray(String[]::new);
+        return updateSubscription(getTelegramUserByChatId(chatId)
+                .setAccommodationTypes(validated));
+    }
+
+    @Override
+    public void unsubscribe(String chatId) {
+        telegramUserDataRepository.deleteByChatId(chatId);
+        telegramSubscriberRegistry.unregister(chatId);
+    }
+
+    private TelegramUser updateSubscription(TelegramUser telegramUser) {
+        TelegramUser saved = telegramUserDataRepository.save(telegramUser);
+        telegramSubscriberRegistry.register(saved);
+        return saved;
     }
 }
@@ -3,7 +3,7 @@ package rental.project.service.user;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import rental.project.dto.auth.UserRegisterRequestDto;
 import rental.project.dto.auth.UserRegisterResponseDto;
@@ -15,14 +15,18 @@ import rental.project.mapper.UserMapper;
 import rental.project.model.User;
 import rental.project.repository.user.UserRepository;
 import rental.project.security.SecurityUtil;
+import rental.project.security.TokenVersionRegistry;
+import rental.project.security.UserPrincipalCache;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     @Override
     public UserRegisterResponseDto save(UserRegisterRequestDto requestDto) {
@@ -42,18 +46,29 @@ public class UserServiceImpl implements UserService {
                 () -> new EntityNotFoundException("User with id " + userId + " not found")
         );
         user.setRole(roleUpdateDto.getRole());
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userPrincipalCache.invalidate(user.getEmail());
+        tokenVersionRegistry.update(user.getId(), user.getTokenVersion());
         return userMapper.toUserDto(userRepository.save(user));
     }
 
     @Override
     public UserDto getCurrentUserData() {
-        return userMapper.toUserDto(SecurityUtil.getLoggedInUser());
+        return userMapper.toUserDto(getLoggedInUser());
     }
 
     @Override
     public UserDto updateUserData(UpdateUserDataDto updateDto) {
-        User currentUser = SecurityUtil.getLoggedInUser();
+        User currentUser = getLoggedInUser();
         userMapper.updateFromDto(updateDto, currentUser);
+        userPrincipalCache.invalidate(currentUser.getEmail());
         return userMapper.toUserDto(userRepository.save(currentUser));
     }
+
+    private User getLoggedInUser() {
+        Long userId = SecurityUtil.getLoggedInUserId();
+        return userRepository.findById(userId).orElseThrow(
+                () -> new EntityNotFoundException("User with id " + userId + " not found")
+        );
+    }
 }
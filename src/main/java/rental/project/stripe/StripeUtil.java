@@ -1,18 +1,36 @@
 package rental.project.stripe;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.checkout.Session;
 import com.stripe.param.checkout.SessionCreateParams;
+import com.stripe.param.checkout.SessionListParams;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 public class StripeUtil {
     public static final Long DEFAULT_QUANTITY = 1L;
     public static final Long CENT_TO_DOLLAR_RATIO = 100L;
     private static final String DEFAULT_CURRENCY = "usd";
+    private static final Long LIST_PAGE_SIZE = 100L;
+    private static final String SESSION_CACHE_NAME = "stripe.sessions";
+    private static final Set<String> TERMINAL_SESSION_STATUSES = Set.of("complete", "expired");
+
+    private final LoadingCache<String, Session> sessions;
 
     @Value("${stripe.success.link}")
     private String successUrl;
@@ -20,8 +38,18 @@ public class StripeUtil {
     @Value("${stripe.cancel.link}")
     private String cancelUrl;
 
-    public StripeUtil(@Value(value = "${api.key}") String apiKey) {
+    public StripeUtil(@Value(value = "${api.key}") String apiKey,
+                      @Value("${stripe.session-cache.maximum-size}") long cacheSize,
+                      @Value("${stripe.session-cache.open-ttl}") Duration openTtl,
+                      @Value("${stripe.session-cache.terminal-ttl}") Duration terminalTtl,
+                      MeterRegistry meterRegistry) {
         Stripe.apiKey = apiKey;
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new SessionExpiry(openTtl, terminalTtl))
+                .recordStats()
+                .build(this::retrieveSession);
+        CaffeineCacheMetrics.monitor(meterRegistry, sessions, SESSION_CACHE_NAME);
     }
 
     public Session createSession(BigDecimal amount, String name) throws StripeException {
@@ -46,14 +74,93 @@ public class StripeUtil {
                 )
                 .build();
 
-        return Session.create(params);
+        Session session = Session.create(params);
+        sessions.put(session.getId(), session);
+        return session;
     }
 
+    /**
+     * Returns the session from the cache, loading it from Stripe on a miss.
+     * Concurrent lookups of the same id share a single remote call.
+     */
     public Session receiveSession(String sessionId) throws StripeException {
-        return Session.retrieve(sessionId);
+        try {
+            return sessions.get(sessionId);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof StripeException stripeException) {
+                throw stripeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Lists the sessions created since the given epoch second. When a later
+     * page can't be fetched, the sessions of the pages read so far are
+     * returned.
+     */
+    public List<Session> listSessions(Long createdFrom) throws StripeException {
+        SessionListParams params = SessionListParams.builder()
+                .setCreated(SessionListParams.Created.builder()
+                        .setGte(createdFrom)
+                        .build())
+                .setLimit(LIST_PAGE_SIZE)
+                .build();
+        Iterable<Session> pages = fetchSessions(params);
+        List<Session> listed = new ArrayList<>();
+        try {
+            for (Session session : pages) {
+                sessions.put(session.getId(), session);
+                listed.add(session);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Can't list payment sessions past {} sessions", listed.size(), e);
+        }
+        return listed;
     }
 
     public BigDecimal convertToCents(BigDecimal amount) {
         return amount.multiply(BigDecimal.valueOf(CENT_TO_DOLLAR_RATIO));
     }
+
+    protected Session retrieveSession(String sessionId) throws StripeException {
+        return Session.retrieve(sessionId);
+    }
+
+    protected Iterable<Session> fetchSessions(SessionListParams params) throws StripeException {
+        return Session.list(params).autoPagingIterable();
+    }
+
+    /**
+     * Keeps sessions in a terminal state for long, since they can't change
+     * any more, and open sessions only briefly.
+     */
+    static class SessionExpiry implements Expiry<String, Session> {
+        private final long openTtlNanos;
+        private final long terminalTtlNanos;
+
+        SessionExpiry(Duration openTtl, Duration terminalTtl) {
+            this.openTtlNanos = openTtl.toNanos();
+            this.terminalTtlNanos = terminalTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String sessionId, Session session, long currentTime) {
+            return TERMINAL_SESSION_STATUSES.contains(session.getStatus())
+                    ? terminalTtlNanos
+                    : openTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String sessionId, Session session,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(sessionId, session, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String sessionId, Session session,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -5,35 +5,54 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.stereotype.Component;
 import org.telegram.telegrambots.meta.TelegramBotsApi;
+import org.telegram.telegrambots.meta.api.methods.updates.SetWebhook;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 import org.telegram.telegrambots.updatesreceivers.DefaultBotSession;
-import rental.project.repository.telegram.TelegramUserDataRepository;
 import rental.project.service.telegramuser.TelegramUserDataServiceImpl;
 
 @Component
 public class BotRegister {
+    public static final String WEBHOOK_MODE = "webhook";
+
     @Value("${telegram.bot.name}")
     private String botName;
     @Value("${telegram.bot.token}")
     private String botToken;
+    @Value("${telegram.bot.mode}")
+    private String mode;
+    @Value("${telegram.bot.webhook-url}")
+    private String webhookUrl;
+    @Value("${telegram.bot.webhook-secret}")
+    private String webhookSecret;
 
     private final TelegramUserDataServiceImpl userDataService;
-    private final TelegramUserDataRepository userDataRepository;
+    private final UpdatePipeline updatePipeline;
 
     private TelegramBot telegramBot;
 
     public BotRegister(TelegramUserDataServiceImpl userDataService,
-                                TelegramUserDataRepository userDataRepository) {
+                       UpdatePipeline updatePipeline) {
         this.userDataService = userDataService;
-        this.userDataRepository = userDataRepository;
+        this.updatePipeline = updatePipeline;
     }
 
     @PostConstruct
     public void registerBot() throws TelegramApiException {
+        if (WEBHOOK_MODE.equals(mode) && webhookSecret.isBlank()) {
+            throw new IllegalStateException(
+                    "telegram.bot.webhook-secret must be set in webhook mode");
+        }
         try {
-            telegramBot = new TelegramBot(botToken, botName, userDataService, userDataRepository);
-            TelegramBotsApi telegramBotsApi = new TelegramBotsApi(DefaultBotSession.class);
-            telegramBotsApi.registerBot(telegramBot);
+            telegramBot = new TelegramBot(botToken, botName, userDataService, updatePipeline);
+            if (WEBHOOK_MODE.equals(mode)) {
+                telegramBot.execute(SetWebhook.builder()
+                        .url(webhookUrl)
+                        .secretToken(webhookSecret)
+                        .build());
+            } else {
+                TelegramBotsApi telegramBotsApi = new TelegramBotsApi(DefaultBotSession.class);
+                telegramBotsApi.registerBot(telegramBot);
+            }
         } catch (TelegramApiException e) {
             System.err.println("Failed to register Telegram bot: " + e.getMessage());
         }
@@ -1,41 +1,46 @@
 package rental.project.telegram;
 
 import jakarta.persistence.EntityNotFoundException;
+import java.util.Arrays;
 import org.telegram.telegrambots.bots.TelegramLongPollingBot;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
 import org.telegram.telegrambots.meta.api.objects.Update;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 import rental.project.exception.TelegramBotMessageException;
-import rental.project.repository.telegram.TelegramUserDataRepository;
 import rental.project.service.telegramuser.TelegramUserDataServiceImpl;
 
 public class TelegramBot extends TelegramLongPollingBot {
+    private static final String SUBSCRIPTION_HELP = """
+            Choose what you are notified about:
+                /topics accommodations bookings payments
+                /cities Kyiv Lviv
+                /types house apartment condo vacation_home
+            Send a command without values to receive everything again
+            Send /stop to unsubscribe
+            """;
+
     private final String botName;
     private final String botToken;
     private final TelegramUserDataServiceImpl telegramUserDataInfoService;
-    private final TelegramUserDataRepository telegramUserDataRepository;
+    private final UpdatePipeline updatePipeline;
 
     public TelegramBot(String botToken,
                          String botName,
                          TelegramUserDataServiceImpl userDataService,
-                         TelegramUserDataRepository userDataRepository) {
+                         UpdatePipeline updatePipeline) {
         this.botToken = botToken;
         this.botName = botName;
         this.telegramUserDataInfoService = userDataService;
-        this.telegramUserDataRepository = userDataRepository;
+        this.updatePipeline = updatePipeline;
     }
 
     @Override
     public void onUpdateReceived(Update update) {
-        String chatId = String.valueOf(update.getMessage().getChatId());
-        if (update.hasMessage() && update.getMessage().hasText()
-                && telegramUserDataRepository.findFirstByChatId(chatId).isEmpty()) {
+        if (update.hasMessage() && update.getMessage().hasText()) {
+            String chatId = String.valueOf(update.getMessage().getChatId());
             String message = update.getMessage().getText();
-            if (message.equals("/start")) {
-                introMessage(chatId);
-            } else {
-                addTelegramUser(message, chatId);
-            }
+            updatePipeline.submit(update.getUpdateId(), chatId,
+                    () -> handleMessage(chatId, message));
         }
     }
 
@@ -68,6 +73,16 @@ public class TelegramBot extends TelegramLongPollingBot {
         }
     }
 
+    private void handleMessage(String chatId, String message) {
+        if (telegramUserDataInfoService.isSubscribed(chatId)) {
+            updateSubscription(chatId, message);
+        } else if (message.equals("/start")) {
+            introMessage(chatId);
+        } else {
+            addTelegramUser(message, chatId);
+        }
+    }
+
     private void introMessage(String chatId) {
         String message = """
                  Welcome! \n
@@ -80,6 +95,31 @@ public class TelegramBot extends TelegramLongPollingBot {
         sendMessage(chatId, message);
     }
 
+    private void updateSubscription(String chatId, String message) {
+        String[] words = message.trim().split("\\s+");
+        String[] values = Arrays.copyOfRange(words, 1, words.length);
+        try {
+            switch (words[0]) {
+                case "/topics" -> telegramUserDataInfoService.updateTopics(chatId, values);
+                case "/cities" -> telegramUserDataInfoService.updateCities(chatId, values);
+                case "/types" -> telegramUserDataInfoService
+                        .updateAccommodationTypes(chatId, values);
+                case "/stop" -> {
+                    telegramUserDataInfoService.unsubscribe(chatId);
+                    sendMessage(chatId, "Unsubscribed, send your login to subscribe again");
+                    return;
+                }
+                default -> {
+                    sendMessage(chatId, SUBSCRIPTION_HELP);
+                    return;
+                }
+            }
+            sendMessage(chatId, "Subscription updated");
+        } catch (IllegalArgumentException e) {
+            sendMessage(chatId, "Unknown value in: " + message);
+        }
+    }
+
     private void addTelegramUser(String email, String chatId) {
         try {
             telegramUserDataInfoService.save(email, chatId);
@@ -0,0 +1,101 @@
+package rental.project.telegram;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Handles incoming Telegram updates on a bounded pool of workers.
+ *
+ * <p>Updates already seen are skipped by their update_id, since Telegram
+ * redelivers updates it did not get an answer for. Updates of one chat run
+ * one after another in arrival order, while different chats run in parallel.
+ */
+@Slf4j
+@Component
+public class UpdatePipeline {
+    private static final Duration DEDUP_RETENTION = Duration.ofHours(24);
+
+    private final ExecutorService workers;
+    private final Map<String, CompletableFuture<Void>> chatTails = new ConcurrentHashMap<>();
+    private final Cache<Integer, Boolean> seenUpdates;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final int capacity;
+    private final Counter duplicateCounter;
+    private final Counter rejectedCounter;
+
+    public UpdatePipeline(MeterRegistry meterRegistry,
+                          @Value("${telegram.updates.workers}") int workers,
+                          @Value("${telegram.updates.queue-capacity}") int capacity,
+                          @Value("${telegram.updates.dedup-size}") long dedupSize) {
+        this.workers = Executors.newFixedThreadPool(workers);
+        this.capacity = capacity;
+        this.seenUpdates = Caffeine.newBuilder()
+                .maximumSize(dedupSize)
+                .expireAfterWrite(DEDUP_RETENTION)
+                .build();
+        Gauge.builder("telegram.updates.pending", pending, AtomicInteger::get)
+                .description("Telegram updates waiting to be handled")
+                .register(meterRegistry);
+        this.duplicateCounter = meterRegistry.counter("telegram.updates.skipped",
+                "reason", "duplicate");
+        this.rejectedCounter = meterRegistry.counter("telegram.updates.skipped",
+                "reason", "rejected");
+    }
+
+    /**
+     * Queues the handling of an update behind the earlier updates of its chat.
+     *
+     * @return false when the update was a duplicate or the pipeline is full
+     */
+    public boolean submit(Integer updateId, String chatId, Runnable handler) {
+        if (updateId != null
+                && seenUpdates.asMap().putIfAbsent(updateId, Boolean.TRUE) != null) {
+            duplicateCounter.increment();
+            return false;
+        }
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            if (updateId != null) {
+                seenUpdates.invalidate(updateId);
+            }
+            rejectedCounter.increment();
+            log.warn("Telegram update pipeline is full, rejecting update {}", updateId);
+            return false;
+        }
+        CompletableFuture<Void> next = chatTails.compute(chatId, (key, tail) -> (tail == null
+                ? CompletableFuture.<Void>completedFuture(null)
+                : tail).thenRunAsync(() -> handle(updateId, handler), workers));
+        // an already completed future runs the callback at once, so it can't be set inside compute
+        next.whenComplete((result, error) -> chatTails.remove(chatId, next));
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void handle(Integer updateId, Runnable handler) {
+        try {
+            handler.run();
+        } catch (RuntimeException e) {
+            log.warn("Can't handle Telegram update {}", updateId, e);
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package rental.project.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import rental.project.dto.page.CursorPageDto;
+import rental.project.exception.InvalidCursorException;
+
+/**
+ * Keyset pagination helpers. A cursor holds the sort keys of the last row of
+ * a page, encoded so that clients treat it as an opaque value. The next page
+ * is read by seeking past those keys, so no offset is skipped and no rows
+ * are counted.
+ */
+public final class CursorUtil {
+    private static final int MAX_SIZE = 100;
+    private static final String KEY_SEPARATOR = "|";
+
+    private CursorUtil() {
+    }
+
+    public static String encode(Object... keys) {
+        String joined = Arrays.stream(keys)
+                .map(String::valueOf)
+                .collect(Collectors.joining(KEY_SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode(Object...)} and parses its
+     * sort keys.
+     *
+     * @return the parsed keys, or null for a missing cursor
+     * @throws InvalidCursorException when the cursor was not issued by us
+     */
+    public static <T> T decode(String cursor, int keyCount, Function<String[], T> parser) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] keys;
+        try {
+            keys = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8).split("\\" + KEY_SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+        if (keys.length != keyCount) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+        try {
+            return parser.apply(keys);
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Requests one row more than the page size, which tells whether a next
+     * page exists without counting.
+     */
+    public static Pageable seekLimit(int size) {
+        return PageRequest.of(0, pageSize(size) + 1);
+    }
+
+    public static <E, D> CursorPageDto<D> page(List<E> rows, int size,
+                                               Function<E, D> mapper,
+                                               Function<E, String> cursorOf) {
+        int pageSize = pageSize(size);
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        return new CursorPageDto<>(pageRows.stream().map(mapper).toList(),
+                hasNext ? cursorOf.apply(pageRows.get(pageSize - 1)) : null);
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
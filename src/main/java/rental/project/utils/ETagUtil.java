@@ -0,0 +1,36 @@
+package rental.project.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.util.DigestUtils;
+import rental.project.dto.version.EntityVersionDto;
+
+/**
+ * Builds entity tags from entity versions, so that a response can be
+ * validated without loading or serializing its body.
+ */
+public final class ETagUtil {
+    private ETagUtil() {
+    }
+
+    public static String of(Long id, Object... versions) {
+        StringBuilder tag = new StringBuilder("\"").append(id);
+        for (Object version : versions) {
+            tag.append('-').append(version);
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Tags a list by the ids and versions of its elements in order, so it
+     * changes when an element is changed, added, removed or moved.
+     */
+    public static String of(List<EntityVersionDto> versions) {
+        String content = versions.stream()
+                .map(version -> version.id() + ":" + version.version())
+                .collect(Collectors.joining(","));
+        return "\"" + DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8))
+                + "\"";
+    }
+}
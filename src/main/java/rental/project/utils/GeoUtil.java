@@ -0,0 +1,59 @@
+package rental.project.utils;
+
+/**
+ * Distances on a spherical Earth, using the radius MySQL applies in
+ * {@code ST_Distance_Sphere} so distances computed here and in queries agree.
+ */
+public final class GeoUtil {
+    private static final double EARTH_RADIUS_KM = 6370.986;
+    private static final double MAX_LATITUDE = 90;
+    private static final double MAX_LONGITUDE = 180;
+
+    private GeoUtil() {
+    }
+
+    public static double distanceKm(double fromLatitude, double fromLongitude,
+                                    double toLatitude, double toLongitude) {
+        double latitudeDelta = Math.toRadians(toLatitude - fromLatitude);
+        double longitudeDelta = Math.toRadians(toLongitude - fromLongitude);
+        double haversine = Math.pow(Math.sin(latitudeDelta / 2), 2)
+                + Math.cos(Math.toRadians(fromLatitude)) * Math.cos(Math.toRadians(toLatitude))
+                * Math.pow(Math.sin(longitudeDelta / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(haversine)));
+    }
+
+    /**
+     * Returns the smallest latitude/longitude box holding the circle, which
+     * lets a query narrow candidates by index before measuring distances.
+     * Near a pole, or when the circle crosses the antimeridian, the box spans
+     * all longitudes.
+     */
+    public static BoundingBox boundingBox(double latitude, double longitude, double radiusKm) {
+        double latitudeDelta = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double minLatitude = latitude - latitudeDelta;
+        double maxLatitude = latitude + latitudeDelta;
+        if (minLatitude <= -MAX_LATITUDE || maxLatitude >= MAX_LATITUDE) {
+            return new BoundingBox(Math.max(minLatitude, -MAX_LATITUDE), -MAX_LONGITUDE,
+                    Math.min(maxLatitude, MAX_LATITUDE), MAX_LONGITUDE);
+        }
+        double longitudeDelta = Math.toDegrees(Math.asin(
+                Math.sin(radiusKm / EARTH_RADIUS_KM) / Math.cos(Math.toRadians(latitude))));
+        double minLongitude = longitude - longitudeDelta;
+        double maxLongitude = longitude + longitudeDelta;
+        if (minLongitude < -MAX_LONGITUDE || maxLongitude > MAX_LONGITUDE) {
+            return new BoundingBox(minLatitude, -MAX_LONGITUDE, maxLatitude, MAX_LONGITUDE);
+        }
+        return new BoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+    }
+
+    public record BoundingBox(double minLatitude, double minLongitude,
+                              double maxLatitude, double maxLongitude) {
+        public double centerLatitude() {
+            return (minLatitude + maxLatitude) / 2;
+        }
+
+        public double centerLongitude() {
+            return (minLongitude + maxLongitude) / 2;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package rental.project.utils;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Offset pagination helpers.
+ */
+public final class PageUtil {
+    private static final String ID = "id";
+
+    private PageUtil() {
+    }
+
+    /**
+     * Adds the id as the last sort order, so rows that tie on the requested
+     * sort come in the same order on every query of the page, such as the
+     * page itself and the versions its entity tag is built from.
+     */
+    public static Pageable orderedById(Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getSort().getOrderFor(ID) != null) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort().and(Sort.by(ID)));
+    }
+}
@@ -0,0 +1,50 @@
+package rental.project.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Runs EXPLAIN for queries and fails when MySQL would read a table without
+ * an index, either as a full table scan or a full index scan.
+ */
+public final class QueryPlan {
+    private static final Set<String> FULL_SCAN_TYPES = Set.of("ALL", "index");
+
+    private QueryPlan() {
+    }
+
+    /**
+     * Makes the optimizer cost index seeks as it would on large tables, since
+     * the few rows of test data are cheaper to scan than to seek.
+     */
+    public static void useProductionCosts(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION max_seeks_for_key = 1");
+        }
+    }
+
+    public static void assertIndexed(Connection connection, String name, String sql)
+            throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+            while (plan.next()) {
+                String type = plan.getString("type");
+                if (type == null) {
+                    // Answered from an index lookup or constants alone,
+                    // e.g. "no matching row in const table"
+                    continue;
+                }
+                assertFalse(FULL_SCAN_TYPES.contains(type), name + " scans table "
+                        + plan.getString("table") + ": " + type);
+                assertNotNull(plan.getString("key"), name + " reads table "
+                        + plan.getString("table") + " without an index");
+            }
+        }
+    }
+}
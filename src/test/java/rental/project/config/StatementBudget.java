@@ -0,0 +1,44 @@
+package rental.project.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread and
+ * fails when an action runs more of them than its budget allows.
+ *
+ * <p>Registered as the statement inspector of the test session factory by
+ * {@link StatementBudgetConfig}.
+ * Statements of other threads, such as the outbox poller, are not counted.
+ */
+public class StatementBudget implements StatementInspector {
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static <T> T assertAtMost(int maxStatements, Callable<T> action) throws Exception {
+        List<String> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        try {
+            T result = action.call();
+            assertTrue(statements.size() <= maxStatements, () -> "Expected at most "
+                    + maxStatements + " statements, but ran " + statements.size() + ":"
+                    + System.lineSeparator()
+                    + String.join(System.lineSeparator(), statements));
+            return result;
+        } finally {
+            STATEMENTS.remove();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package rental.project.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers {@link StatementBudget} as the statement inspector of the test
+ * session factory.
+ */
+@Configuration
+public class StatementBudgetConfig {
+    @Bean
+    public HibernatePropertiesCustomizer statementBudgetCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new StatementBudget());
+    }
+}
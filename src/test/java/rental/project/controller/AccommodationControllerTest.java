@@ -13,6 +13,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import javax.sql.DataSource;
@@ -25,6 +26,7 @@ import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
@@ -37,6 +39,7 @@ import org.springframework.web.context.WebApplicationContext;
 import org.testcontainers.shaded.org.apache.commons.lang3.builder.EqualsBuilder;
 import rental.project.dto.accommodation.AccommodationDto;
 import rental.project.dto.accommodation.CreateAccommodationDto;
+import rental.project.dto.accommodation.NearbyAccommodationDto;
 import rental.project.dto.accommodation.UpdateAccommodationDto;
 import rental.project.supplier.AccommodationSupplier;
 
@@ -142,6 +145,72 @@ public class AccommodationControllerTest {
         assertEquals(expected, Arrays.stream(actual).toList());
     }
 
+    @Test
+    @Sql(
+            scripts = "classpath:database/occupancy/add-occupied-days.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = "classpath:database/occupancy/delete-all-occupancy.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @WithMockUser(username = "user", roles = {"CUSTOMER"})
+    @DisplayName("Get accommodations available for period")
+    void getAvailable_WithOccupiedDays_ShouldReturnFreeAccommodations() throws Exception {
+        //Given (Arrange)
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(3);
+
+        //When (Act)
+        MvcResult result = mockMvc.perform(get("/accommodations/available")
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .param("units", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //Then (Assert)
+        AccommodationDto[] actual = objectMapper.readValue(result.getResponse()
+                .getContentAsByteArray(), AccommodationDto[].class);
+        assertNotNull(actual);
+        assertEquals(List.of(2L), Arrays.stream(actual)
+                .map(AccommodationDto::getId)
+                .toList());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"CUSTOMER"})
+    @DisplayName("Get accommodations near location, nearest first")
+    void getNearby_WithRadius_ShouldReturnAccommodationsByDistance() throws Exception {
+        //When (Act)
+        MvcResult result = mockMvc.perform(get("/accommodations/nearby")
+                        .param("lat", "50.01")
+                        .param("lon", "15.0")
+                        .param("radiusKm", "50"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //Then (Assert)
+        NearbyAccommodationDto[] actual = objectMapper.readValue(result.getResponse()
+                .getContentAsByteArray(), NearbyAccommodationDto[].class);
+        assertNotNull(actual);
+        assertEquals(1L, actual[0].accommodation().getId());
+        assertTrue(actual[0].distanceKm() < 2);
+        assertTrue(Arrays.stream(actual).noneMatch(
+                nearby -> nearby.accommodation().getId() == 2L));
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"CUSTOMER"})
+    @DisplayName("Reject nearby search with radius out of range")
+    void getNearby_WithTooLargeRadius_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/accommodations/nearby")
+                        .param("lat", "50.01")
+                        .param("lon", "15.0")
+                        .param("radiusKm", "5000"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(username = "user", roles = {"ADMIN"})
     @DisplayName("Update accommodation by id")
@@ -192,6 +261,29 @@ public class AccommodationControllerTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    @WithMockUser(username = "user", roles = {"CUSTOMER"})
+    @DisplayName("Get unchanged accommodation by id with its entity tag")
+    void getAccommodationById_WithMatchingETag_ReturnsNotModified() throws Exception {
+        //Given (Arrange)
+        Long accommodationId = 1L;
+        String etag = mockMvc.perform(get("/accommodations/" + accommodationId))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        //When (Act)
+        MvcResult result = mockMvc.perform(get("/accommodations/" + accommodationId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        //Then (Assert)
+        assertNotNull(etag);
+        assertEquals(0, result.getResponse().getContentLength());
+    }
+
     @Test
     @Sql(
             scripts = "classpath:database/accommodation/add-accommodation.sql",
@@ -95,7 +95,7 @@ public class AuthControllerTest {
     void login_WithValidInput_ReturnsResponseWithToken() throws Exception {
         //Given (Arrange)
         UserLoginRequestDto loginDto = UserSupplier.getLoginRequestDto();
-        String email = loginDto.email();
+        User user = UserSupplier.getUser();
         UserLoginResponseDto expected = UserSupplier.getUserLoginResponseDto();
         String expectedToken = expected.token();
 
@@ -105,8 +105,8 @@ public class AuthControllerTest {
 
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(authentication.getName()).thenReturn(email);
-        when(jwtUtil.generateToken(email)).thenReturn(expectedToken);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(jwtUtil.generateToken(user)).thenReturn(expectedToken);
 
         //When (Act)
         MvcResult result = mockMvc.perform(post("/auth/login")
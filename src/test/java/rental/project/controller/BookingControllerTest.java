@@ -40,6 +40,7 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import org.testcontainers.shaded.org.apache.commons.lang3.builder.EqualsBuilder;
+import rental.project.config.StatementBudget;
 import rental.project.dto.booking.BookingDto;
 import rental.project.dto.booking.BookingWithAccommodationInfoDto;
 import rental.project.dto.booking.CreateBookingDto;
@@ -199,6 +200,54 @@ public class BookingControllerTest {
         assertEquals(expected, Arrays.asList(actual));
     }
 
+    @Test
+    @WithMockUser(username = "user", roles = {"ADMIN"})
+    @DisplayName("Get booking lists within statement budget for any page size")
+    void getBookingLists_AnyPageSize_StaysWithinStatementBudget() throws Exception {
+        //Given (Arrange)
+        List<Integer> pageSizes = List.of(1, 10);
+
+        for (Integer size : pageSizes) {
+            //When (Act)
+            MvcResult search = StatementBudget.assertAtMost(2, () -> mockMvc
+                    .perform(get("/bookings/search")
+                            .param("userId", "1")
+                            .param("size", size.toString()))
+                    .andExpect(status().isOk())
+                    .andReturn());
+            MvcResult my = StatementBudget.assertAtMost(3, () -> mockMvc
+                    .perform(get("/bookings/my")
+                            .param("size", size.toString()))
+                    .andExpect(status().isOk())
+                    .andReturn());
+
+            //Then (Assert)
+            assertTrue(objectMapper.readValue(search.getResponse()
+                    .getContentAsString(), BookingDto[].class).length <= size);
+            assertTrue(objectMapper.readValue(my.getResponse()
+                    .getContentAsString(), BookingDto[].class).length <= size);
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"ADMIN"})
+    @DisplayName("Get detailed booking with its accommodation in one select")
+    void getById_ValidId_StaysWithinStatementBudget() throws Exception {
+        //Given (Arrange)
+        Long bookingId = BookingSupplier.getModifiedBookingWithAccommodationInfoDto().getId();
+
+        //When (Act)
+        MvcResult result = StatementBudget.assertAtMost(2, () -> mockMvc
+                .perform(get("/bookings/" + bookingId))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        //Then (Assert)
+        BookingWithAccommodationInfoDto actual = objectMapper.readValue(result.getResponse()
+                .getContentAsByteArray(), BookingWithAccommodationInfoDto.class);
+        assertNotNull(actual.getAccommodation());
+    }
+
     @Test
     @WithMockUser(username = "user", roles = {"ADMIN"})
     @DisplayName("Get detailed booking by id")
@@ -2,6 +2,7 @@ package rental.project.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -16,6 +17,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import javax.sql.DataSource;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.AfterAll;
@@ -40,11 +42,16 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
+import rental.project.config.StatementBudget;
 import rental.project.dto.payment.CreatePaymentDto;
 import rental.project.dto.payment.PaymentDto;
+import rental.project.model.Payment;
 import rental.project.model.User;
+import rental.project.repository.payment.PaymentsRepository;
+import rental.project.repository.stripeevent.StripeEventRepository;
 import rental.project.stripe.StripeUtil;
 import rental.project.supplier.PaymentSupplier;
+import rental.project.supplier.StripeEventSupplier;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -54,6 +61,10 @@ public class PaymentControllerTest {
     private StripeUtil stripeUtil;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private PaymentsRepository paymentsRepository;
+    @Autowired
+    private StripeEventRepository stripeEventRepository;
 
     @BeforeAll
     static void beforeAll(
@@ -138,6 +149,50 @@ public class PaymentControllerTest {
         assertEquals(expected, Arrays.asList(actual));
     }
 
+    @Test
+    @WithMockUser(username = "user", roles = {"ADMIN"})
+    @DisplayName("Get payment lists within statement budget for any page size")
+    void getPaymentLists_AnyPageSize_StaysWithinStatementBudget() throws Exception {
+        //Given (Arrange)
+        List<Integer> pageSizes = List.of(1, 10);
+
+        for (Integer size : pageSizes) {
+            //When (Act)
+            MvcResult all = StatementBudget.assertAtMost(2, () -> mockMvc
+                    .perform(get("/payments")
+                            .param("size", size.toString()))
+                    .andExpect(status().isOk())
+                    .andReturn());
+            MvcResult byUser = StatementBudget.assertAtMost(3, () -> mockMvc
+                    .perform(get("/payments/user/1")
+                            .param("size", size.toString()))
+                    .andExpect(status().isOk())
+                    .andReturn());
+
+            //Then (Assert)
+            assertTrue(objectMapper.readValue(all.getResponse()
+                    .getContentAsString(), PaymentDto[].class).length <= size);
+            assertTrue(objectMapper.readValue(byUser.getResponse()
+                    .getContentAsString(), PaymentDto[].class).length <= size);
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = {"ADMIN"})
+    @DisplayName("Export all payments as csv")
+    void exportPayments_ShouldStreamCsv() throws Exception {
+        //When (Act)
+        MvcResult result = mockMvc.perform(get("/payments/export"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //Then (Assert)
+        assertTrue(result.getResponse().getContentType().startsWith("text/csv"));
+        assertEquals("id,booking_id,user_id,status,session_id,amount\n"
+                        + "1,1,1,PENDING,cs_test_a1h5,125.55\n",
+                result.getResponse().getContentAsString());
+    }
+
     @Test
     @WithMockUser(username = "user", roles = {"ADMIN"})
     @DisplayName("Get all user payments by user id")
@@ -290,4 +345,67 @@ public class PaymentControllerTest {
         assertNotNull(actual);
         assertEquals(expected, actual);
     }
+
+    @Test
+    @Sql(
+            scripts = "classpath:database/payment/add-webhook-payment.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD
+    )
+    @Sql(
+            scripts = "classpath:database/payment/delete-webhook-payment.sql",
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD
+    )
+    @DisplayName("Receive signed completed session event once")
+    void receiveWebhook_SignedCompletedEvent_ShouldMarkPaymentPaid() throws Exception {
+        //Given (Arrange)
+        Long paymentId = 5L;
+        String payload = StripeEventSupplier.getCompletedSessionEvent();
+
+        //When (Act)
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/payments/webhook")
+                            .content(payload)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header("Stripe-Signature",
+                                    StripeEventSupplier.getSignatureHeader(payload)))
+                    .andExpect(status().isOk());
+        }
+
+        //Then (Assert)
+        assertEquals(Payment.PaymentStatus.PAID, awaitPaymentStatus(paymentId,
+                Payment.PaymentStatus.PAID));
+        assertEquals(1, stripeEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("Reject event with wrong signature")
+    void receiveWebhook_WrongSignature_ShouldReturnBadRequest() throws Exception {
+        //Given (Arrange)
+        String payload = StripeEventSupplier.getCompletedSessionEvent();
+        String signature = StripeEventSupplier.getSignatureHeader(payload, "whsec_wrong");
+
+        //When (Act)
+        mockMvc.perform(post("/payments/webhook")
+                        .content(payload)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("Stripe-Signature", signature))
+                .andExpect(status().isBadRequest());
+
+        //Then (Assert)
+        assertTrue(stripeEventRepository.findById("evt_test_session_completed").isEmpty());
+    }
+
+    private Payment.PaymentStatus awaitPaymentStatus(Long paymentId,
+                                                     Payment.PaymentStatus expected)
+            throws InterruptedException {
+        Optional<Payment> payment = Optional.empty();
+        for (int attempt = 0; attempt < 50; attempt++) {
+            payment = paymentsRepository.findById(paymentId);
+            if (payment.isPresent() && payment.get().getStatus() == expected) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        return payment.map(Payment::getStatus).orElse(null);
+    }
 }
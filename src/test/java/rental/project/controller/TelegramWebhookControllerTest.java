@@ -0,0 +1,51 @@
+package rental.project.controller;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.telegrambots.meta.api.objects.Update;
+import rental.project.exception.WebhookException;
+import rental.project.telegram.TelegramBot;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramWebhookControllerTest {
+    private static final String SECRET = "webhook-secret";
+
+    @Mock
+    private TelegramBot telegramBot;
+
+    @Test
+    @DisplayName("Verify update with the configured secret is handled")
+    public void receiveUpdate_WithValidSecret_HandlesUpdate() {
+        //Given (Arrange)
+        TelegramWebhookController controller = new TelegramWebhookController(telegramBot, SECRET);
+        Update update = new Update();
+
+        //When (Act)
+        controller.receiveUpdate(update, SECRET);
+
+        //Then (Assert)
+        verify(telegramBot).onUpdateReceived(update);
+    }
+
+    @Test
+    @DisplayName("Exception thrown by using blank secret even when none is configured")
+    public void receiveUpdate_WithBlankSecret_ThrowsException() {
+        //Given (Arrange)
+        TelegramWebhookController controller = new TelegramWebhookController(telegramBot, "");
+        Update update = new Update();
+
+        //When (Act)
+        assertThrows(WebhookException.class, () -> controller.receiveUpdate(update, ""));
+        assertThrows(WebhookException.class, () -> controller.receiveUpdate(update, " "));
+
+        //Then (Assert)
+        verify(telegramBot, never()).onUpdateReceived(update);
+    }
+}
@@ -0,0 +1,161 @@
+package rental.project.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import rental.project.model.OutboxEvent;
+import rental.project.model.TelegramDigestEntry;
+import rental.project.repository.telegram.TelegramDigestEntryRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationDigestTest {
+    private static final String CHAT_ID = "1";
+    private static final int MAX_EVENTS = 100;
+
+    @Mock
+    private TelegramDeliveryRelay telegramDeliveryRelay;
+    @Mock
+    private TelegramDigestEntryRepository telegramDigestEntryRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationDigest notificationDigest;
+
+    @BeforeEach
+    void setUp() {
+        notificationDigest = new NotificationDigest(telegramDeliveryRelay,
+                telegramDigestEntryRepository, transactionManager, new SimpleMeterRegistry(),
+                true, Set.of(OutboxEvent.EventType.PAYMENT_SUCCEEDED), MAX_EVENTS, 3);
+    }
+
+    @Test
+    @DisplayName("Verify excluded event types are not collected")
+    public void collects_WithExcludedType_ReturnsFalse() {
+        //When (Act)
+        boolean payments = notificationDigest.collects(OutboxEvent.EventType.PAYMENT_SUCCEEDED);
+        boolean bookings = notificationDigest.collects(OutboxEvent.EventType.BOOKING_CREATED);
+
+        //Then (Assert)
+        assertFalse(payments);
+        assertTrue(bookings);
+    }
+
+    @Test
+    @DisplayName("Verify collected event is stored instead of being sent")
+    public void add_BelowEventLimit_StoresEntry() {
+        //Given (Arrange)
+        when(telegramDigestEntryRepository.countByChatId(CHAT_ID)).thenReturn(1L);
+
+        //When (Act)
+        notificationDigest.add(CHAT_ID, event(7L, OutboxEvent.EventType.BOOKING_CREATED));
+
+        //Then (Assert)
+        ArgumentCaptor<TelegramDigestEntry> entry =
+                ArgumentCaptor.forClass(TelegramDigestEntry.class);
+        verify(telegramDigestEntryRepository).save(entry.capture());
+        assertEquals(CHAT_ID, entry.getValue().getChatId());
+        assertEquals(OutboxEvent.EventType.BOOKING_CREATED, entry.getValue().getEventType());
+        assertEquals(7L, entry.getValue().getAggregateId());
+        verify(telegramDeliveryRelay, never()).store(anyCollection(), anyString());
+    }
+
+    @Test
+    @DisplayName("Verify collected events are sent as one summary and removed on flush")
+    public void flush_WithCollectedEvents_SendsOneSummary() {
+        //Given (Arrange)
+        List<TelegramDigestEntry> entries = new ArrayList<>(LongStream.rangeClosed(1, 10)
+                .mapToObj(id -> entry(id, OutboxEvent.EventType.BOOKING_CREATED))
+                .toList());
+        entries.add(entry(11L, OutboxEvent.EventType.BOOKING_CANCELLED));
+        when(telegramDigestEntryRepository.findChatIds()).thenReturn(List.of(CHAT_ID));
+        when(telegramDigestEntryRepository.findByChatId(CHAT_ID)).thenReturn(entries);
+
+        //When (Act)
+        notificationDigest.flush();
+
+        //Then (Assert)
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(telegramDeliveryRelay).store(eq(List.of(CHAT_ID)), message.capture());
+        assertTrue(message.getValue().contains("Digest of 11 notifications"));
+        assertTrue(message.getValue().contains("BOOKING_CREATED: 10"));
+        assertTrue(message.getValue().contains("BOOKING_CANCELLED: 1"));
+        assertTrue(message.getValue().contains("Booking #11 cancelled"));
+        assertFalse(message.getValue().contains("Booking #8 created"));
+        verify(telegramDigestEntryRepository).deleteByIds(
+                LongStream.rangeClosed(1, 11).boxed().toList());
+    }
+
+    @Test
+    @DisplayName("Verify digest is sent as soon as it reaches the event limit")
+    public void add_WithEventLimitReached_SendsSummary() {
+        //Given (Arrange)
+        when(telegramDigestEntryRepository.countByChatId(CHAT_ID)).thenReturn((long) MAX_EVENTS);
+        when(telegramDigestEntryRepository.findByChatId(CHAT_ID))
+                .thenReturn(List.of(entry(1L, OutboxEvent.EventType.BOOKING_CREATED)));
+
+        //When (Act)
+        notificationDigest.add(CHAT_ID, event(1L, OutboxEvent.EventType.BOOKING_CREATED));
+
+        //Then (Assert)
+        verify(telegramDeliveryRelay).store(eq(List.of(CHAT_ID)), anyString());
+        verify(telegramDigestEntryRepository).deleteByIds(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Verify collected events are kept when their summary can't be stored")
+    public void flush_WithFailingStore_KeepsEntries() {
+        //Given (Arrange)
+        when(telegramDigestEntryRepository.findChatIds()).thenReturn(List.of(CHAT_ID));
+        when(telegramDigestEntryRepository.findByChatId(CHAT_ID))
+                .thenReturn(List.of(entry(1L, OutboxEvent.EventType.BOOKING_CREATED)));
+        doThrow(new IllegalStateException("Connection is closed"))
+                .when(telegramDeliveryRelay).store(anyCollection(), anyString());
+
+        //When (Act)
+        notificationDigest.flush();
+
+        //Then (Assert)
+        verify(telegramDigestEntryRepository, never()).deleteByIds(anyList());
+        verify(transactionManager).rollback(any());
+    }
+
+    private static OutboxEvent event(Long aggregateId, OutboxEvent.EventType eventType) {
+        return new OutboxEvent()
+                .setAggregateType(OutboxEvent.AggregateType.BOOKING)
+                .setAggregateId(aggregateId)
+                .setEventType(eventType);
+    }
+
+    private static TelegramDigestEntry entry(Long id, OutboxEvent.EventType eventType) {
+        return new TelegramDigestEntry()
+                .setId(id)
+                .setChatId(CHAT_ID)
+                .setEventType(eventType)
+                .setAggregateId(id)
+                .setCreatedAt(LocalDateTime.now());
+    }
+}
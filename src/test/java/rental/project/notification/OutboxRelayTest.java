@@ -0,0 +1,167 @@
+package rental.project.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import rental.project.model.OutboxEvent;
+import rental.project.repository.outbox.OutboxEventRepository;
+import rental.project.service.telegramuser.TelegramSubscriberRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private TelegramNotifier telegramNotifier;
+    @Mock
+    private TelegramSubscriberRegistry telegramSubscriberRegistry;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, telegramNotifier,
+                telegramSubscriberRegistry, transactionManager, meterRegistry, BATCH_SIZE,
+                MAX_ATTEMPTS);
+    }
+
+    @Test
+    @DisplayName("Verify events are delivered in order and removed from the outbox")
+    public void relay_WithPendingEvents_DeliversAndDeletesThem() throws Exception {
+        //Given (Arrange)
+        when(telegramSubscriberRegistry.isLoaded()).thenReturn(true);
+        OutboxEvent created = event(1L, OutboxEvent.AggregateType.BOOKING, 7L,
+                OutboxEvent.EventType.BOOKING_CREATED);
+        OutboxEvent cancelled = event(2L, OutboxEvent.AggregateType.BOOKING, 7L,
+                OutboxEvent.EventType.BOOKING_CANCELLED);
+        when(outboxEventRepository.findPending(eq(MAX_ATTEMPTS), any(Pageable.class)))
+                .thenReturn(List.of(created, cancelled));
+        when(telegramNotifier.deliver(any(OutboxEvent.class))).thenReturn(1);
+
+        //When (Act)
+        outboxRelay.relay();
+
+        //Then (Assert)
+        InOrder inOrder = inOrder(telegramNotifier);
+        inOrder.verify(telegramNotifier).deliver(created);
+        inOrder.verify(telegramNotifier).deliver(cancelled);
+        verify(outboxEventRepository).deleteByIds(List.of(1L, 2L));
+        verify(outboxEventRepository, never()).incrementAttempts(any());
+    }
+
+    @Test
+    @DisplayName("Verify later events of a failed aggregate are held back")
+    public void relay_WithFailedEvent_HoldsBackSameAggregate() throws Exception {
+        //Given (Arrange)
+        when(telegramSubscriberRegistry.isLoaded()).thenReturn(true);
+        OutboxEvent failing = event(1L, OutboxEvent.AggregateType.PAYMENT, 3L,
+                OutboxEvent.EventType.PAYMENT_SUCCEEDED);
+        OutboxEvent other = event(2L, OutboxEvent.AggregateType.BOOKING, 3L,
+                OutboxEvent.EventType.BOOKING_CREATED);
+        OutboxEvent heldBack = event(3L, OutboxEvent.AggregateType.PAYMENT, 3L,
+                OutboxEvent.EventType.PAYMENT_CANCELLED);
+        when(outboxEventRepository.findPending(eq(MAX_ATTEMPTS), any(Pageable.class)))
+                .thenReturn(List.of(failing, other, heldBack));
+        doThrow(new IllegalStateException("Unknown subscriber topic"))
+                .when(telegramNotifier).deliver(failing);
+        when(telegramNotifier.deliver(other)).thenReturn(1);
+
+        //When (Act)
+        outboxRelay.relay();
+
+        //Then (Assert)
+        verify(telegramNotifier, never()).deliver(heldBack);
+        verify(outboxEventRepository).deleteByIds(List.of(2L));
+        verify(outboxEventRepository).incrementAttempts(List.of(1L));
+        assertEquals(1, meterRegistry.get("notification.outbox.events")
+                .tag("result", "failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Verify event failing to store its deliveries doesn't roll back the batch")
+    public void relay_WithFailingStore_CommitsRestOfBatch() {
+        //Given (Arrange)
+        when(telegramSubscriberRegistry.isLoaded()).thenReturn(true);
+        OutboxEvent failing = event(1L, OutboxEvent.AggregateType.BOOKING, 3L,
+                OutboxEvent.EventType.BOOKING_CREATED);
+        OutboxEvent other = event(2L, OutboxEvent.AggregateType.BOOKING, 4L,
+                OutboxEvent.EventType.BOOKING_CREATED);
+        TransactionStatus batchStatus = mock(TransactionStatus.class);
+        TransactionStatus eventStatus = mock(TransactionStatus.class);
+        when(transactionManager.getTransaction(any(TransactionDefinition.class)))
+                .thenAnswer(invocation -> invocation.<TransactionDefinition>getArgument(0)
+                        .getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW
+                        ? eventStatus
+                        : batchStatus);
+        when(outboxEventRepository.findPending(eq(MAX_ATTEMPTS), any(Pageable.class)))
+                .thenReturn(List.of(failing, other));
+        doThrow(new DataIntegrityViolationException("Data too long for column 'chat_id'"))
+                .when(telegramNotifier).deliver(failing);
+        when(telegramNotifier.deliver(other)).thenReturn(1);
+
+        //When (Act)
+        outboxRelay.relay();
+
+        //Then (Assert)
+        verify(transactionManager).rollback(eventStatus);
+        verify(transactionManager).commit(eventStatus);
+        verify(transactionManager).commit(batchStatus);
+        verify(transactionManager, never()).rollback(batchStatus);
+        verify(outboxEventRepository).deleteByIds(List.of(2L));
+        verify(outboxEventRepository).incrementAttempts(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Verify events are left in the outbox until the subscribers are loaded")
+    public void relay_BeforeSubscribersLoaded_KeepsEvents() {
+        //Given (Arrange)
+        when(telegramSubscriberRegistry.isLoaded()).thenReturn(false);
+
+        //When (Act)
+        outboxRelay.relay();
+
+        //Then (Assert)
+        verify(outboxEventRepository, never()).findPending(anyInt(), any(Pageable.class));
+        verify(telegramNotifier, never()).deliver(any());
+    }
+
+    private static OutboxEvent event(Long id, OutboxEvent.AggregateType aggregateType,
+                                     Long aggregateId, OutboxEvent.EventType eventType) {
+        return new OutboxEvent()
+                .setId(id)
+                .setAggregateType(aggregateType)
+                .setAggregateId(aggregateId)
+                .setEventType(eventType)
+                .setPayload("{}")
+                .setCreatedAt(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,142 @@
+package rental.project.notification;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import rental.project.model.TelegramDelivery;
+import rental.project.repository.telegram.TelegramDeliveryRepository;
+import rental.project.service.telegramuser.TelegramUserDataService;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramDeliveryRelayTest {
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private TelegramDeliveryRepository telegramDeliveryRepository;
+    @Mock
+    private TelegramDispatcher telegramDispatcher;
+    @Mock
+    private TelegramUserDataService telegramUserDataService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TelegramDeliveryRelay telegramDeliveryRelay;
+
+    @BeforeEach
+    void setUp() {
+        telegramDeliveryRelay = new TelegramDeliveryRelay(telegramDeliveryRepository,
+                telegramDispatcher, telegramUserDataService, transactionManager, BATCH_SIZE,
+                MAX_ATTEMPTS, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Verify sent delivery is deleted and failed one is kept for another attempt")
+    public void relay_WithDueDeliveries_DeletesOnlyConfirmedOnes() {
+        //Given (Arrange)
+        TelegramDelivery sent = delivery(1L, "1");
+        TelegramDelivery failed = delivery(2L, "2");
+        when(telegramDispatcher.isBotAvailable()).thenReturn(true);
+        when(telegramDeliveryRepository.findDue(any(LocalDateTime.class), eq(MAX_ATTEMPTS),
+                any(Pageable.class))).thenReturn(List.of(sent, failed));
+        when(telegramDispatcher.dispatch(any(), any(), any())).thenReturn(true);
+
+        //When (Act)
+        telegramDeliveryRelay.relay();
+
+        //Then (Assert)
+        verify(telegramDeliveryRepository).postpone(eq(List.of(1L, 2L)),
+                any(LocalDateTime.class));
+        complete("1", TelegramDispatcher.Outcome.SENT);
+        complete("2", TelegramDispatcher.Outcome.FAILED);
+        verify(telegramDeliveryRepository).deleteDelivered(1L);
+        verify(telegramDeliveryRepository, never()).deleteDelivered(2L);
+        verify(telegramDeliveryRepository).recordFailure(eq(2L), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Verify chat that blocked the bot is unsubscribed")
+    public void relay_WithBlockedChat_UnsubscribesChat() {
+        //Given (Arrange)
+        when(telegramDispatcher.isBotAvailable()).thenReturn(true);
+        when(telegramDeliveryRepository.findDue(any(LocalDateTime.class), eq(MAX_ATTEMPTS),
+                any(Pageable.class))).thenReturn(List.of(delivery(1L, "1")));
+        when(telegramDispatcher.dispatch(any(), any(), any())).thenReturn(true);
+
+        //When (Act)
+        telegramDeliveryRelay.relay();
+        complete("1", TelegramDispatcher.Outcome.BLOCKED);
+
+        //Then (Assert)
+        verify(telegramDeliveryRepository).deleteDelivered(1L);
+        verify(telegramUserDataService).unsubscribe("1");
+    }
+
+    @Test
+    @DisplayName("Verify deliveries that don't fit into the dispatcher queue are due again")
+    public void relay_WithFullQueue_ReleasesRemainingDeliveries() {
+        //Given (Arrange)
+        when(telegramDispatcher.isBotAvailable()).thenReturn(true);
+        when(telegramDeliveryRepository.findDue(any(LocalDateTime.class), eq(MAX_ATTEMPTS),
+                any(Pageable.class))).thenReturn(List.of(delivery(1L, "1"),
+                delivery(2L, "2"), delivery(3L, "3")));
+        when(telegramDispatcher.dispatch(eq("1"), any(), any())).thenReturn(true);
+        when(telegramDispatcher.dispatch(eq("2"), any(), any())).thenReturn(false);
+
+        //When (Act)
+        telegramDeliveryRelay.relay();
+
+        //Then (Assert)
+        verify(telegramDispatcher, never()).dispatch(eq("3"), any(), any());
+        verify(telegramDeliveryRepository).postpone(eq(List.of(2L, 3L)),
+                any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Verify deliveries are not read while the bot is unavailable")
+    public void relay_WithUnavailableBot_KeepsDeliveries() {
+        //Given (Arrange)
+        when(telegramDispatcher.isBotAvailable()).thenReturn(false);
+
+        //When (Act)
+        telegramDeliveryRelay.relay();
+
+        //Then (Assert)
+        verify(telegramDeliveryRepository, never()).findDue(any(LocalDateTime.class), anyInt(),
+                any(Pageable.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void complete(String chatId, TelegramDispatcher.Outcome outcome) {
+        ArgumentCaptor<Consumer<TelegramDispatcher.Outcome>> onCompletion =
+                ArgumentCaptor.forClass(Consumer.class);
+        verify(telegramDispatcher).dispatch(eq(chatId), any(), onCompletion.capture());
+        onCompletion.getValue().accept(outcome);
+    }
+
+    private static TelegramDelivery delivery(Long id, String chatId) {
+        return new TelegramDelivery()
+                .setId(id)
+                .setChatId(chatId)
+                .setMessage("message")
+                .setNextAttemptAt(LocalDateTime.now())
+                .setCreatedAt(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,207 @@
+package rental.project.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.telegrambots.meta.api.methods.GetMe;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.objects.ApiResponse;
+import org.telegram.telegrambots.meta.api.objects.Message;
+import org.telegram.telegrambots.meta.api.objects.ResponseParameters;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+import rental.project.telegram.TelegramBot;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramDispatcherTest {
+    private static final String CHAT_ID = "1";
+    private static final String OTHER_CHAT_ID = "2";
+    private static final long TIMEOUT_MILLIS = 2000;
+
+    @Mock
+    private TelegramBot telegramBot;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<TelegramDispatcher.Outcome> outcomes = new CopyOnWriteArrayList<>();
+    private TelegramDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    @DisplayName("Verify queued messages are sent by workers")
+    public void dispatch_WithAvailableBot_SendsEveryMessage() throws Exception {
+        //Given (Arrange)
+        dispatcher = dispatcher(100, 3);
+        when(telegramBot.execute(any(SendMessage.class))).thenReturn(new Message());
+        dispatcher.start();
+
+        //When (Act)
+        for (int i = 0; i < 10; i++) {
+            dispatcher.dispatch(String.valueOf(i), "message", outcomes::add);
+        }
+
+        //Then (Assert)
+        verify(telegramBot, timeout(TIMEOUT_MILLIS).times(10)).execute(any(SendMessage.class));
+        awaitOutcomes(10);
+        assertTrue(outcomes.stream().allMatch(TelegramDispatcher.Outcome.SENT::equals));
+    }
+
+    @Test
+    @DisplayName("Verify a throttled chat doesn't hold up messages to other chats")
+    public void dispatch_WithThrottledChat_SendsToOtherChats() throws Exception {
+        //Given (Arrange)
+        dispatcher = new TelegramDispatcher(telegramBot, meterRegistry, 100, 1,
+                1000, 0.2, 3, Duration.ofMillis(10), Duration.ofMinutes(10));
+        when(telegramBot.execute(any(SendMessage.class))).thenReturn(new Message());
+        dispatcher.start();
+
+        //When (Act)
+        dispatcher.dispatch(CHAT_ID, "first", outcomes::add);
+        dispatcher.dispatch(CHAT_ID, "second", outcomes::add);
+        dispatcher.dispatch(OTHER_CHAT_ID, "other", outcomes::add);
+
+        //Then (Assert)
+        verify(telegramBot, timeout(TIMEOUT_MILLIS)).execute(
+                argThat((SendMessage message) -> OTHER_CHAT_ID.equals(message.getChatId())));
+        verify(telegramBot, times(2)).execute(any(SendMessage.class));
+        assertEquals(1, meterRegistry.get("telegram.dispatcher.delayed").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Verify messages over queue capacity are dropped")
+    public void dispatch_WithFullQueue_DropsMessage() {
+        //Given (Arrange)
+        dispatcher = dispatcher(2, 3);
+
+        //When (Act)
+        boolean first = dispatcher.dispatch(CHAT_ID, "first", outcomes::add);
+        boolean second = dispatcher.dispatch(CHAT_ID, "second", outcomes::add);
+        boolean third = dispatcher.dispatch(CHAT_ID, "third", outcomes::add);
+
+        //Then (Assert)
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(2, meterRegistry.get("telegram.dispatcher.queue.depth").gauge().value());
+        assertEquals(1, meterRegistry.get("telegram.dispatcher.messages")
+                .tag("result", "dropped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Verify rate limited message is sent again after the requested delay")
+    public void dispatch_WithTooManyRequests_RetriesMessage() throws Exception {
+        //Given (Arrange)
+        dispatcher = dispatcher(100, 3);
+        TelegramApiRequestException tooManyRequests =
+                requestException(429, new ResponseParameters(null, 0));
+        when(telegramBot.execute(any(SendMessage.class)))
+                .thenThrow(tooManyRequests)
+                .thenReturn(new Message());
+        dispatcher.start();
+
+        //When (Act)
+        dispatcher.dispatch(CHAT_ID, "message", outcomes::add);
+
+        //Then (Assert)
+        verify(telegramBot, timeout(TIMEOUT_MILLIS).times(2)).execute(any(SendMessage.class));
+        awaitOutcomes(1);
+        assertEquals(List.of(TelegramDispatcher.Outcome.SENT), outcomes);
+    }
+
+    @Test
+    @DisplayName("Verify message to a chat that blocked the bot is not retried")
+    public void dispatch_WithBlockedChat_DoesNotRetry() throws Exception {
+        //Given (Arrange)
+        dispatcher = dispatcher(100, 3);
+        TelegramApiRequestException forbidden = requestException(403, null);
+        when(telegramBot.execute(any(SendMessage.class)))
+                .thenThrow(forbidden);
+        dispatcher.start();
+
+        //When (Act)
+        dispatcher.dispatch(CHAT_ID, "message", outcomes::add);
+
+        //Then (Assert)
+        verify(telegramBot, timeout(TIMEOUT_MILLIS)).execute(any(SendMessage.class));
+        Thread.sleep(100);
+        verify(telegramBot, times(1)).execute(any(SendMessage.class));
+        assertEquals(List.of(TelegramDispatcher.Outcome.BLOCKED), outcomes);
+    }
+
+    @Test
+    @DisplayName("Verify message is reported as failed once its attempts run out")
+    public void dispatch_WithFailingSends_ReportsFailure() throws Exception {
+        //Given (Arrange)
+        dispatcher = dispatcher(100, 2);
+        when(telegramBot.execute(any(SendMessage.class)))
+                .thenThrow(new TelegramApiException("unreachable"));
+        dispatcher.start();
+
+        //When (Act)
+        dispatcher.dispatch(CHAT_ID, "message", outcomes::add);
+
+        //Then (Assert)
+        awaitOutcomes(1);
+        verify(telegramBot, times(2)).execute(any(SendMessage.class));
+        assertEquals(List.of(TelegramDispatcher.Outcome.FAILED), outcomes);
+    }
+
+    @Test
+    @DisplayName("Verify bot availability is cached from the last health check")
+    public void checkBotAvailability_WithUnreachableBot_MarksBotUnavailable() throws Exception {
+        //Given (Arrange)
+        dispatcher = dispatcher(100, 3);
+        when(telegramBot.execute(any(GetMe.class)))
+                .thenThrow(new TelegramApiException("unreachable"));
+
+        //When (Act)
+        dispatcher.checkBotAvailability();
+
+        //Then (Assert)
+        assertFalse(dispatcher.isBotAvailable());
+        verify(telegramBot, never()).execute(any(SendMessage.class));
+    }
+
+    private void awaitOutcomes(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (outcomes.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private TelegramDispatcher dispatcher(int queueCapacity, int maxAttempts) {
+        return new TelegramDispatcher(telegramBot, meterRegistry, queueCapacity, 2,
+                1000, 1000, maxAttempts, Duration.ofMillis(10), Duration.ofMinutes(10));
+    }
+
+    private static TelegramApiRequestException requestException(
+            int errorCode, ResponseParameters parameters) {
+        ApiResponse<?> response = mock(ApiResponse.class);
+        when(response.getErrorCode()).thenReturn(errorCode);
+        when(response.getErrorDescription()).thenReturn("error " + errorCode);
+        when(response.getParameters()).thenReturn(parameters);
+        return new TelegramApiRequestException("error", response);
+    }
+}
@@ -0,0 +1,97 @@
+package rental.project.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import rental.project.exception.TooManyRequestsException;
+
+public class BoundedPasswordEncoderTest {
+    private static final String PASSWORD = "password";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.shutdown();
+    }
+
+    @Test
+    @DisplayName("Verify hashes of a weaker cost are upgraded")
+    public void upgradeEncoding_WithWeakerHash_ReturnsTrue() {
+        //Given (Arrange)
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5),
+                meterRegistry, 1, 1);
+        String weakHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+        //When (Act)
+        boolean upgrade = passwordEncoder.upgradeEncoding(weakHash);
+
+        //Then (Assert)
+        assertTrue(upgrade);
+        assertTrue(passwordEncoder.matches(PASSWORD, weakHash));
+        assertFalse(passwordEncoder.upgradeEncoding(passwordEncoder.encode(PASSWORD)));
+    }
+
+    @Test
+    @DisplayName("Exception thrown when every hashing thread and queue slot is taken")
+    public void matches_WithFullQueue_ThrowsException() throws Exception {
+        //Given (Arrange)
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        passwordEncoder = new BoundedPasswordEncoder(new BlockingEncoder(started, release),
+                meterRegistry, 1, 1);
+        List<CompletableFuture<Boolean>> accepted = new ArrayList<>();
+        accepted.add(CompletableFuture.supplyAsync(
+                () -> passwordEncoder.matches(PASSWORD, PASSWORD)));
+        started.await(5, TimeUnit.SECONDS);
+        accepted.add(CompletableFuture.supplyAsync(
+                () -> passwordEncoder.matches(PASSWORD, PASSWORD)));
+        while (meterRegistry.get("security.password.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        //When (Act)
+        assertThrows(TooManyRequestsException.class,
+                () -> passwordEncoder.matches(PASSWORD, PASSWORD));
+
+        //Then (Assert)
+        release.countDown();
+        for (CompletableFuture<Boolean> match : accepted) {
+            assertTrue(match.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, meterRegistry.get("security.password.rejected").counter().count());
+    }
+
+    private record BlockingEncoder(CountDownLatch started, CountDownLatch release)
+            implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
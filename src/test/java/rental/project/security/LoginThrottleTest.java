@@ -0,0 +1,50 @@
+package rental.project.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class LoginThrottleTest {
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        loginThrottle = new LoginThrottle(2, 0.001, 3, 0.001, 100, Duration.ofMinutes(15));
+    }
+
+    @Test
+    @DisplayName("Verify attempts for one email are throttled across addresses")
+    public void tryAcquire_WithRepeatedEmail_RejectsAfterCapacity() {
+        //When (Act)
+        boolean first = loginThrottle.tryAcquire("user@example.com", "10.0.0.1");
+        boolean second = loginThrottle.tryAcquire("USER@example.com", "10.0.0.2");
+        boolean third = loginThrottle.tryAcquire("user@example.com", "10.0.0.3");
+
+        //Then (Assert)
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertTrue(loginThrottle.tryAcquire("other@example.com", "10.0.0.3"));
+    }
+
+    @Test
+    @DisplayName("Verify attempts from one address are throttled across emails")
+    public void tryAcquire_WithRepeatedAddress_RejectsAfterCapacity() {
+        //Given (Arrange)
+        String address = "10.0.0.1";
+        loginThrottle.tryAcquire("first@example.com", address);
+        loginThrottle.tryAcquire("second@example.com", address);
+        loginThrottle.tryAcquire("third@example.com", address);
+
+        //When (Act)
+        boolean rejected = loginThrottle.tryAcquire("fourth@example.com", address);
+
+        //Then (Assert)
+        assertFalse(rejected);
+        assertTrue(loginThrottle.tryAcquire("fourth@example.com", "10.0.0.2"));
+    }
+}
@@ -0,0 +1,82 @@
+package rental.project.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import rental.project.dto.user.UserTokenVersionDto;
+import rental.project.repository.user.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenVersionRegistryTest {
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Test
+    @DisplayName("Verify loaded versions are checked without the database")
+    public void isCurrent_AfterRefresh_UsesLoadedVersions() {
+        //Given (Arrange)
+        when(userRepository.findAllTokenVersions())
+                .thenReturn(List.of(new UserTokenVersionDto(1L, 2)));
+        tokenVersionRegistry.refresh();
+
+        //When (Act)
+        boolean current = tokenVersionRegistry.isCurrent(1L, 2);
+        boolean outdated = tokenVersionRegistry.isCurrent(1L, 1);
+
+        //Then (Assert)
+        assertTrue(current);
+        assertFalse(outdated);
+        verify(userRepository, never()).findTokenVersionById(1L);
+    }
+
+    @Test
+    @DisplayName("Verify token is revoked once its user's version is raised")
+    public void isCurrent_AfterUpdate_RevokesOlderTokens() {
+        //Given (Arrange)
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+
+        //When (Act)
+        boolean beforeUpdate = tokenVersionRegistry.isCurrent(1L, 0);
+        tokenVersionRegistry.update(1L, 1);
+        boolean afterUpdate = tokenVersionRegistry.isCurrent(1L, 0);
+
+        //Then (Assert)
+        assertTrue(beforeUpdate);
+        assertFalse(afterUpdate);
+        assertTrue(tokenVersionRegistry.isCurrent(1L, 1));
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    @DisplayName("Verify tokens of users missing from the database are revoked")
+    public void isCurrent_WithDeletedUser_ReturnsFalse() {
+        //Given (Arrange)
+        when(userRepository.findAllTokenVersions())
+                .thenReturn(List.of(new UserTokenVersionDto(1L, 0)))
+                .thenReturn(List.of());
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.empty());
+        tokenVersionRegistry.refresh();
+
+        //When (Act)
+        tokenVersionRegistry.refresh();
+        boolean current = tokenVersionRegistry.isCurrent(1L, 0);
+
+        //Then (Assert)
+        assertFalse(current);
+    }
+}
@@ -0,0 +1,68 @@
+package rental.project.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import rental.project.model.User;
+import rental.project.supplier.UserSupplier;
+
+@ExtendWith(MockitoExtension.class)
+public class UserPrincipalCacheTest {
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserPrincipalCache userPrincipalCache;
+
+    @BeforeEach
+    void setUp() {
+        userPrincipalCache = new UserPrincipalCache(userDetailsService, meterRegistry,
+                100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Verify principal is loaded once for repeated requests")
+    public void get_WithRepeatedEmail_LoadsUserOnce() {
+        //Given (Arrange)
+        User user = UserSupplier.getUser();
+        when(userDetailsService.loadUserByUsername(user.getEmail())).thenReturn(user);
+
+        //When (Act)
+        UserDetails first = userPrincipalCache.get(user.getEmail());
+        UserDetails second = userPrincipalCache.get(user.getEmail());
+
+        //Then (Assert)
+        assertSame(first, second);
+        verify(userDetailsService, times(1)).loadUserByUsername(user.getEmail());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "security.principals")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Verify invalidated principal is loaded again")
+    public void invalidate_WithCachedPrincipal_ReloadsUser() {
+        //Given (Arrange)
+        User user = UserSupplier.getUser();
+        when(userDetailsService.loadUserByUsername(user.getEmail())).thenReturn(user);
+        userPrincipalCache.get(user.getEmail());
+
+        //When (Act)
+        userPrincipalCache.invalidate(user.getEmail());
+        userPrincipalCache.get(user.getEmail());
+
+        //Then (Assert)
+        verify(userDetailsService, times(2)).loadUserByUsername(user.getEmail());
+    }
+}
@@ -0,0 +1,94 @@
+package rental.project.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.servlet.FilterChain;
+import java.time.Instant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import rental.project.security.TokenVersionRegistry;
+import rental.project.security.UserPrincipalCache;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtAuthFilterTest {
+    private static final String TOKEN = "token";
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private JwtUtil jwtUtil;
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+    @Mock
+    private FilterChain filterChain;
+
+    @InjectMocks
+    private JwtAuthFilter jwtAuthFilter;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Verify request with a current token is authenticated")
+    public void doFilter_WithCurrentToken_AuthenticatesRequest() throws Exception {
+        //Given (Arrange)
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(jwtUtil.verify(TOKEN)).thenReturn(verifiedToken());
+        when(tokenVersionRegistry.isCurrent(USER_ID, 2)).thenReturn(true);
+
+        //When (Act)
+        jwtAuthFilter.doFilter(request, response, filterChain);
+
+        //Then (Assert)
+        assertEquals(200, response.getStatus());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("Verify request with a revoked token is rejected with 401")
+    public void doFilter_WithRevokedToken_ReturnsUnauthorized() throws Exception {
+        //Given (Arrange)
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(jwtUtil.verify(TOKEN)).thenReturn(verifiedToken());
+        when(tokenVersionRegistry.isCurrent(USER_ID, 2)).thenReturn(false);
+
+        //When (Act)
+        jwtAuthFilter.doFilter(request, response, filterChain);
+
+        //Then (Assert)
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain, never()).doFilter(request, response);
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings/my");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + TOKEN);
+        return request;
+    }
+
+    private static VerifiedToken verifiedToken() {
+        return new VerifiedToken("user@example.com", USER_ID, "CUSTOMER", 2,
+                Instant.now().plusSeconds(3600));
+    }
+}
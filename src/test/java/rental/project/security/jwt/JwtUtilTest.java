@@ -0,0 +1,89 @@
+package rental.project.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import rental.project.model.User;
+import rental.project.supplier.UserSupplier;
+
+public class JwtUtilTest {
+    private static final String SECRET = "secret_key_sfx070423432429429xfs";
+    private final User user = UserSupplier.getUser();
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 100);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L);
+    }
+
+    @Test
+    @DisplayName("Verify token is parsed once and then served from cache")
+    public void verify_WithValidToken_ReturnsCachedToken() {
+        //Given (Arrange)
+        String token = jwtUtil.generateToken(user);
+
+        //When (Act)
+        VerifiedToken first = jwtUtil.verify(token);
+        VerifiedToken second = jwtUtil.verify(token);
+
+        //Then (Assert)
+        assertEquals(user.getEmail(), first.username());
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Verify token carries id, role and token version of its user")
+    public void verify_WithValidToken_ReturnsUserClaims() {
+        //Given (Arrange)
+        user.setTokenVersion(3);
+        String token = jwtUtil.generateToken(user);
+
+        //When (Act)
+        VerifiedToken verified = jwtUtil.verify(token);
+
+        //Then (Assert)
+        assertTrue(verified.hasUserClaims());
+        assertEquals(user.getId(), verified.userId());
+        assertEquals(user.getRole().name(), verified.role());
+        assertEquals(3, verified.version());
+    }
+
+    @Test
+    @DisplayName("Exception thrown by using token with wrong signature")
+    public void verify_WithForgedToken_ThrowsException() {
+        //Given (Arrange)
+        JwtUtil otherIssuer = new JwtUtil(SECRET.toUpperCase(), 100);
+        ReflectionTestUtils.setField(otherIssuer, "expiration", 3600000L);
+        String token = otherIssuer.generateToken(user);
+
+        //When (Act)
+        JwtException exception = assertThrows(JwtException.class,
+                () -> jwtUtil.verify(token));
+
+        //Then (Assert)
+        assertEquals("Invalid JWT token", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Exception thrown by using expired token")
+    public void verify_WithExpiredToken_ThrowsException() {
+        //Given (Arrange)
+        ReflectionTestUtils.setField(jwtUtil, "expiration", -1000L);
+        String token = jwtUtil.generateToken(user);
+
+        //When (Act)
+        JwtException exception = assertThrows(JwtException.class,
+                () -> jwtUtil.verify(token));
+
+        //Then (Assert)
+        assertEquals("Invalid JWT token", exception.getMessage());
+    }
+}
@@ -0,0 +1,97 @@
+package rental.project.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import rental.project.dto.accommodation.AccommodationDto;
+import rental.project.service.accommodation.AccommodationCache;
+
+public class AccommodationCacheTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private AccommodationCache accommodationCache;
+
+    @BeforeEach
+    void setUp() {
+        accommodationCache = new AccommodationCache(meterRegistry, true, 100, 100,
+                Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Verify accommodation is loaded once for repeated reads")
+    public void get_WithRepeatedId_LoadsOnce() {
+        //When (Act)
+        AccommodationDto first = accommodationCache.get(1L, this::load);
+        AccommodationDto second = accommodationCache.get(1L, this::load);
+
+        //Then (Assert)
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "accommodations")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Verify update evicts only the pages holding the accommodation")
+    public void invalidate_WithCachedPages_EvictsAffectedPages() {
+        //Given (Arrange)
+        Pageable firstPage = PageRequest.of(0, 2);
+        Pageable secondPage = PageRequest.of(1, 2);
+        Pageable byPrice = PageRequest.of(1, 2, Sort.by("dailyRate"));
+        accommodationCache.get(1L, this::load);
+        accommodationCache.getPage(firstPage, () -> page(1L, 2L));
+        accommodationCache.getPage(secondPage, () -> page(3L, 4L));
+        accommodationCache.getPage(byPrice, () -> page(3L, 4L));
+        loads.set(0);
+
+        //When (Act)
+        accommodationCache.invalidate(1L);
+        accommodationCache.get(1L, this::load);
+        accommodationCache.getPage(firstPage, () -> page(1L, 2L));
+        accommodationCache.getPage(secondPage, () -> page(3L, 4L));
+        accommodationCache.getPage(byPrice, () -> page(3L, 4L));
+
+        //Then (Assert)
+        assertEquals(1 + 2 + 2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Verify every page is evicted when accommodations are added or removed")
+    public void invalidatePages_WithCachedPages_EvictsAllPages() {
+        //Given (Arrange)
+        Pageable firstPage = PageRequest.of(0, 2);
+        Pageable secondPage = PageRequest.of(1, 2);
+        accommodationCache.getPage(firstPage, () -> page(1L, 2L));
+        accommodationCache.getPage(secondPage, () -> page(3L, 4L));
+        loads.set(0);
+
+        //When (Act)
+        accommodationCache.invalidatePages();
+        accommodationCache.getPage(firstPage, () -> page(1L, 2L));
+        accommodationCache.getPage(secondPage, () -> page(3L, 4L));
+
+        //Then (Assert)
+        assertEquals(4, loads.get());
+    }
+
+    private AccommodationDto load(Long id) {
+        loads.incrementAndGet();
+        return new AccommodationDto().setId(id);
+    }
+
+    private List<AccommodationDto> page(Long... ids) {
+        return List.of(ids).stream()
+                .map(this::load)
+                .toList();
+    }
+}
@@ -0,0 +1,89 @@
+package rental.project.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import rental.project.config.QueryPlan;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AccommodationSearchQueryPlanTest {
+    private static final List<String> SEARCH_FILTERS = List.of(
+            "country = 'Test Country 2'",
+            "country = 'Test Country 2' AND city = 'Test City 2'",
+            "country = 'Test Country 2' AND city = 'Test City 2' AND type = 'HOUSE'",
+            "country = 'Test Country 2' AND city = 'Test City 2' AND type = 'HOUSE' "
+                    + "AND daily_rate BETWEEN 50 AND 150",
+            "state = 'Test Region 2'",
+            "state = 'Test Region 2' AND city = 'Test City 2'",
+            "city = 'Test City 2'",
+            "city = 'Test City 2' AND type = 'APARTMENT'",
+            "city = 'Test City 2' AND daily_rate >= 50",
+            "type = 'HOUSE'",
+            "type = 'HOUSE' AND daily_rate <= 100",
+            "daily_rate BETWEEN 50 AND 150",
+            "daily_rate >= 50 AND availability >= 2",
+            "availability >= 3");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeAll
+    static void beforeAll(@Autowired DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/delete-all.sql")
+            );
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/accommodation/add-three-accommodations.sql")
+            );
+        }
+    }
+
+    @AfterAll
+    static void afterAll(@Autowired DataSource dataSource) {
+        tearDown(dataSource);
+    }
+
+    @SneakyThrows
+    static void tearDown(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/delete-all.sql")
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Verify every supported search filter combination is read by index")
+    public void explain_WithSearchFilters_UsesIndexRangeScan() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            //Given (Arrange)
+            QueryPlan.useProductionCosts(connection);
+
+            //When (Act)
+            //Then (Assert)
+            for (String filter : SEARCH_FILTERS) {
+                QueryPlan.assertIndexed(connection, filter, "SELECT * "
+                        + "FROM accommodations "
+                        + "WHERE is_deleted = false AND " + filter);
+            }
+        }
+    }
+}
@@ -5,32 +5,51 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import rental.project.dto.accommodation.AccommodationDto;
+import rental.project.dto.accommodation.AccommodationSearchParameters;
+import rental.project.dto.accommodation.AccommodationSearchResultDto;
 import rental.project.dto.accommodation.CreateAccommodationDto;
+import rental.project.dto.accommodation.NearbyAccommodationDto;
 import rental.project.dto.accommodation.UpdateAccommodationDto;
+import rental.project.dto.page.CursorPageDto;
+import rental.project.exception.BookingException;
 import rental.project.exception.EntityNotFoundException;
 import rental.project.mapper.AccommodationMapper;
 import rental.project.model.Accommodation;
 import rental.project.notification.NotificationService;
+import rental.project.repository.accommodation.AccommodationFacet;
 import rental.project.repository.accommodation.AccommodationRepository;
+import rental.project.service.accommodation.AccommodationCache;
 import rental.project.service.accommodation.AccommodationServiceImpl;
+import rental.project.service.accommodation.AmenityIndex;
 import rental.project.supplier.AccommodationSupplier;
+import rental.project.utils.CursorUtil;
+import rental.project.utils.GeoUtil;
 
 @ExtendWith(MockitoExtension.class)
 public class AccommodationServiceTest {
@@ -40,6 +59,11 @@ public class AccommodationServiceTest {
     private AccommodationMapper accommodationMapper;
     @Mock
     private NotificationService notificationService;
+    @Mock
+    private AmenityIndex amenityIndex;
+    @Spy
+    private AccommodationCache accommodationCache = new AccommodationCache(
+            new SimpleMeterRegistry(), false, 100, 100, Duration.ofMinutes(10));
 
     @InjectMocks
     private AccommodationServiceImpl accommodationService;
@@ -75,6 +99,142 @@ public class AccommodationServiceTest {
                 .toDto(any(Accommodation.class));
     }
 
+    @Test
+    @DisplayName("Verify scroll seeks past the cursor and returns the next cursor")
+    public void scroll_WithCursor_ShouldReturnNextPage() {
+        //Given (Arrange)
+        List<Accommodation> accommodationList = AccommodationSupplier.getAccommodationList();
+        String cursor = CursorUtil.encode(5L);
+
+        when(accommodationRepository.findAfter(5L, PageRequest.of(0, 3)))
+                .thenReturn(accommodationList);
+        when(accommodationMapper.toDto(any(Accommodation.class)))
+                .thenReturn(new AccommodationDto());
+
+        //When (Act)
+        CursorPageDto<AccommodationDto> actual = accommodationService.scroll(cursor, 2);
+
+        //Then (Assert)
+        assertEquals(2, actual.content().size());
+        assertEquals(CursorUtil.encode(accommodationList.get(1).getId()), actual.nextCursor());
+        verify(accommodationRepository).findAfter(5L, PageRequest.of(0, 3));
+        verify(accommodationRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Verify search returns matching page with counts for every facet")
+    public void search_WithFilters_ShouldReturnPageAndFacets() {
+        //Given (Arrange)
+        AccommodationSearchParameters parameters = new AccommodationSearchParameters(
+                "Test Country 2", null, "Test City 2", null,
+                BigDecimal.valueOf(50), null, null, null);
+        Pageable pageable = PageRequest.of(0, 10);
+        List<Accommodation> accommodationList = AccommodationSupplier.getAccommodationList();
+
+        when(accommodationRepository.findAll(any(Specification.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(accommodationList, pageable, 12));
+        when(accommodationRepository.countByFacet(any(Specification.class),
+                any(AccommodationFacet.class)))
+                .thenReturn(Map.of());
+        when(accommodationRepository.countByFacet(any(Specification.class),
+                eq(AccommodationFacet.CITY)))
+                .thenReturn(Map.of("Test City 2", 12L, "Test City", 4L));
+        when(accommodationMapper.toDto(any(Accommodation.class)))
+                .thenReturn(new AccommodationDto());
+
+        //When (Act)
+        AccommodationSearchResultDto actual = accommodationService.search(parameters, pageable);
+
+        //Then (Assert)
+        assertEquals(accommodationList.size(), actual.content().size());
+        assertEquals(12, actual.totalElements());
+        assertEquals(List.of("country", "state", "city", "type"),
+                List.copyOf(actual.facets().keySet()));
+        assertEquals(12L, actual.facets().get("city").get("Test City 2"));
+        verify(accommodationRepository, times(AccommodationFacet.values().length))
+                .countByFacet(any(Specification.class), any(AccommodationFacet.class));
+    }
+
+    @Test
+    @DisplayName("Verify nearby accommodations carry their distance from the location")
+    public void findNearby_WithRadius_ShouldReturnDistances() {
+        //Given (Arrange)
+        Accommodation accommodation = AccommodationSupplier.getAccommodation();
+        double latitude = accommodation.getAddress().getLatitude();
+        double longitude = accommodation.getAddress().getLongitude();
+        GeoUtil.BoundingBox box = GeoUtil.boundingBox(latitude, longitude, 10);
+
+        when(accommodationRepository.findNearest(latitude, longitude, 10.0,
+                box.minLatitude(), box.minLongitude(), box.maxLatitude(), box.maxLongitude(),
+                null, null, 1, PageRequest.of(0, 10)))
+                .thenReturn(List.of(accommodation));
+        when(accommodationMapper.toDto(accommodation))
+                .thenReturn(new AccommodationDto());
+
+        //When (Act)
+        List<NearbyAccommodationDto> actual = accommodationService.findNearby(
+                latitude, longitude, 10, null, null, 1, PageRequest.of(0, 10));
+
+        //Then (Assert)
+        assertEquals(1, actual.size());
+        assertEquals(0, actual.get(0).distanceKm(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Exception thrown by filtering nearby availability without check out date")
+    public void findNearby_WithoutCheckoutDate_ThrowsException() {
+        //When (Act)
+        BookingException exception = assertThrows(BookingException.class,
+                () -> accommodationService.findNearby(50, 15, 10, LocalDate.now(), null, 1,
+                        PageRequest.of(0, 10)));
+
+        //Then (Assert)
+        assertEquals("Both check in and check out dates are required",
+                exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Verify available accommodations are searched up to the last night")
+    public void findAvailable_WithValidPeriod_ShouldReturnAccommodationDtoList() {
+        //Given (Arrange)
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(3);
+        Pageable pageable = PageRequest.of(0, 10);
+        Accommodation accommodation = AccommodationSupplier.getAccommodation();
+        AccommodationDto expectedDto = new AccommodationDto();
+
+        when(accommodationRepository.findAvailable(from, to.minusDays(1), 2, pageable))
+                .thenReturn(new PageImpl<>(List.of(accommodation)));
+        when(accommodationMapper.toDto(accommodation)).thenReturn(expectedDto);
+
+        //When (Act)
+        List<AccommodationDto> actualList = accommodationService
+                .findAvailable(from, to, 2, pageable);
+
+        //Then (Assert)
+        assertEquals(List.of(expectedDto), actualList);
+        verify(accommodationRepository).findAvailable(from, to.minusDays(1), 2, pageable);
+    }
+
+    @Test
+    @DisplayName("Verify exception thrown when check out date is before check in date")
+    public void findAvailable_WithInvalidPeriod_ShouldThrowException() {
+        //Given (Arrange)
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.minusDays(1);
+
+        //When (Act)
+        BookingException exception = assertThrows(
+                BookingException.class,
+                () -> accommodationService.findAvailable(from, to, 1, PageRequest.of(0, 10))
+        );
+
+        //Then (Assert)
+        assertEquals("Check out date can't be before check in date", exception.getMessage());
+        verify(accommodationRepository, never())
+                .findAvailable(any(), any(), eq(1), any(Pageable.class));
+    }
+
     @Test
     @DisplayName("Verify correct accommodation by using any valid id")
     public void findById_WithValidId_ShouldReturnAccommodationDto() {
@@ -158,6 +318,8 @@ public class AccommodationServiceTest {
 
         //Then (Assert)
         verify(accommodationRepository).deleteById(validAccommodationId);
+        verify(accommodationCache).invalidate(validAccommodationId);
+        verify(accommodationCache).invalidatePages();
     }
 
     @Test
@@ -184,6 +346,7 @@ public class AccommodationServiceTest {
                 .updateFromDto(updateAccommodationDto, accommodation);
         verify(accommodationRepository, times(1)).save(accommodation);
         verify(accommodationMapper, times(1)).toDto(accommodation);
+        verify(accommodationCache, times(1)).invalidate(validId);
     }
 
     @Test
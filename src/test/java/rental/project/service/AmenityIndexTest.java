@@ -0,0 +1,75 @@
+package rental.project.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.BitSet;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import rental.project.dto.accommodation.AccommodationAmenityDto;
+import rental.project.model.Amenity;
+import rental.project.repository.accommodation.AccommodationRepository;
+import rental.project.service.accommodation.AmenityIndex;
+
+@ExtendWith(MockitoExtension.class)
+public class AmenityIndexTest {
+    private static final long WIFI_AND_PARKING =
+            Amenity.maskOf(new String[] {"Wi-Fi", "parking"});
+
+    @Mock
+    private AccommodationRepository accommodationRepository;
+
+    @InjectMocks
+    private AmenityIndex amenityIndex;
+
+    @Test
+    @DisplayName("Verify only accommodations having every amenity are matched")
+    public void matching_WithSeveralAmenities_ReturnsIntersection() {
+        //Given (Arrange)
+        when(accommodationRepository.findAllAmenityMasks()).thenReturn(List.of(
+                new AccommodationAmenityDto(1L, Amenity.WIFI.bit()),
+                new AccommodationAmenityDto(2L, WIFI_AND_PARKING),
+                new AccommodationAmenityDto(3L, WIFI_AND_PARKING | Amenity.POOL.bit())));
+        amenityIndex.warmUp();
+
+        //When (Act)
+        BitSet actual = amenityIndex.matching(WIFI_AND_PARKING);
+
+        //Then (Assert)
+        assertEquals(BitSet.valueOf(new long[] {0b1100}), actual);
+        assertTrue(amenityIndex.matching(Amenity.GYM.bit()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify changed and removed accommodations are matched by their new amenities")
+    public void put_WithChangedAmenities_ReplacesPreviousOnes() {
+        //Given (Arrange)
+        amenityIndex.put(1L, WIFI_AND_PARKING);
+        amenityIndex.put(2L, WIFI_AND_PARKING);
+
+        //When (Act)
+        amenityIndex.put(1L, Amenity.WIFI.bit());
+        amenityIndex.remove(2L);
+
+        //Then (Assert)
+        assertTrue(amenityIndex.matching(WIFI_AND_PARKING).isEmpty());
+        assertEquals(1, amenityIndex.matching(Amenity.WIFI.bit()).cardinality());
+        assertTrue(amenityIndex.matching(Amenity.WIFI.bit()).get(1));
+    }
+
+    @Test
+    @DisplayName("Verify amenity names outside the dictionary get no bit")
+    public void maskOf_WithUnknownNames_SkipsThem() {
+        //When (Act)
+        long actual = Amenity.maskOf(new String[] {"HOT TUB", "sauna", "tv"});
+
+        //Then (Assert)
+        assertEquals(Amenity.HOT_TUB.bit() | Amenity.TV.bit(), actual);
+    }
+}
@@ -2,15 +2,18 @@ package rental.project.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,14 +21,17 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import rental.project.dto.auth.UserLoginRequestDto;
 import rental.project.dto.auth.UserLoginResponseDto;
+import rental.project.exception.TooManyRequestsException;
+import rental.project.model.User;
 import rental.project.security.AuthenticationService;
+import rental.project.security.LoginThrottle;
 import rental.project.security.jwt.JwtUtil;
 import rental.project.supplier.UserSupplier;
 
 @ExtendWith(MockitoExtension.class)
 class AuthenticationServiceTest {
+    private static final String CLIENT_ADDRESS = "127.0.0.1";
 
-    @InjectMocks
     private AuthenticationService authenticationService;
 
     @Mock
@@ -34,28 +40,63 @@ class AuthenticationServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        authenticationService = new AuthenticationService(jwtUtil, authenticationManager,
+                loginThrottle, meterRegistry);
+    }
+
     @Test
     @DisplayName("Login returns token with valid credentials")
     void login_ValidCredentials_ReturnsToken() {
         //Given (Arrange)
         UserLoginRequestDto loginDto = UserSupplier.getLoginRequestDto();
-        String email = loginDto.email();
+        User user = UserSupplier.getUser();
         String expectedToken = UserSupplier.getUserLoginResponseDto().token();
 
         Authentication authentication = mock(Authentication.class);
 
+        when(loginThrottle.tryAcquire(loginDto.email(), CLIENT_ADDRESS)).thenReturn(true);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(authentication.getName()).thenReturn(email);
-        when(jwtUtil.generateToken(email)).thenReturn(expectedToken);
+        when(authentication.getPrincipal()).thenReturn(user);
+        when(jwtUtil.generateToken(user)).thenReturn(expectedToken);
 
         //When (Act)
-        UserLoginResponseDto responseDto = authenticationService.login(loginDto);
+        UserLoginResponseDto responseDto = authenticationService.login(loginDto,
+                CLIENT_ADDRESS);
 
         //Then (Assert)
         assertNotNull(responseDto);
         assertEquals(expectedToken, responseDto.token());
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtUtil).generateToken(email);
+        verify(jwtUtil).generateToken(user);
+        assertEquals(1, meterRegistry.get("auth.login").tag("result", "success")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Exception thrown when login attempts are throttled")
+    void login_Throttled_ThrowsException() {
+        //Given (Arrange)
+        UserLoginRequestDto loginDto = UserSupplier.getLoginRequestDto();
+
+        when(loginThrottle.tryAcquire(loginDto.email(), CLIENT_ADDRESS)).thenReturn(false);
+
+        //When (Act)
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> authenticationService.login(loginDto, CLIENT_ADDRESS));
+
+        //Then (Assert)
+        assertEquals("Too many login attempts, try again later", exception.getMessage());
+        verify(authenticationManager, never())
+                .authenticate(any(UsernamePasswordAuthenticationToken.class));
+        assertEquals(1, meterRegistry.get("auth.login").tag("result", "throttled")
+                .timer().count());
     }
 }
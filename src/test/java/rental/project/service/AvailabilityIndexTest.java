@@ -0,0 +1,125 @@
+package rental.project.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import rental.project.dto.booking.BookingPeriodDto;
+import rental.project.repository.booking.BookingsRepository;
+import rental.project.service.booking.AvailabilityIndex;
+
+@ExtendWith(MockitoExtension.class)
+public class AvailabilityIndexTest {
+    private static final Long ACCOMMODATION_ID = 1L;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private BookingsRepository bookingsRepository;
+
+    @InjectMocks
+    private AvailabilityIndex availabilityIndex;
+
+    @Test
+    @DisplayName("Verify reservation is rejected when all units are taken")
+    public void tryReserve_WithNoFreeUnits_ReturnsFalse() {
+        //Given (Arrange)
+        availabilityIndex.tryReserve(ACCOMMODATION_ID, TODAY, TODAY.plusDays(3), 2);
+        availabilityIndex.tryReserve(ACCOMMODATION_ID, TODAY.plusDays(2), TODAY.plusDays(5), 2);
+
+        //When (Act)
+        boolean actual = availabilityIndex.tryReserve(
+                ACCOMMODATION_ID, TODAY.plusDays(1), TODAY.plusDays(4), 2);
+
+        //Then (Assert)
+        assertFalse(actual);
+        assertEquals(2, availabilityIndex.occupiedUnits(
+                ACCOMMODATION_ID, TODAY, TODAY.plusDays(5)));
+    }
+
+    @Test
+    @DisplayName("Verify check-out day is free for the next booking")
+    public void tryReserve_StartingOnCheckoutDay_ReturnsTrue() {
+        //Given (Arrange)
+        availabilityIndex.tryReserve(ACCOMMODATION_ID, TODAY, TODAY.plusDays(3), 1);
+
+        //When (Act)
+        boolean actual = availabilityIndex.tryReserve(
+                ACCOMMODATION_ID, TODAY.plusDays(3), TODAY.plusDays(5), 1);
+
+        //Then (Assert)
+        assertTrue(actual);
+    }
+
+    @Test
+    @DisplayName("Verify released unit can be booked again")
+    public void release_WithReservedUnit_FreesUnit() {
+        //Given (Arrange)
+        availabilityIndex.tryReserve(ACCOMMODATION_ID, TODAY, TODAY.plusDays(3), 1);
+
+        //When (Act)
+        availabilityIndex.release(ACCOMMODATION_ID, TODAY, TODAY.plusDays(3));
+
+        //Then (Assert)
+        assertEquals(0, availabilityIndex.occupiedUnits(
+                ACCOMMODATION_ID, TODAY, TODAY.plusDays(3)));
+        assertTrue(availabilityIndex.tryReserve(
+                ACCOMMODATION_ID, TODAY, TODAY.plusDays(3), 1));
+    }
+
+    @Test
+    @DisplayName("Verify index is rebuilt from bookings table on drift")
+    public void verifyConsistency_WithDrift_RebuildsFromBookings() {
+        //Given (Arrange)
+        availabilityIndex.tryReserve(ACCOMMODATION_ID, TODAY, TODAY.plusDays(3), 2);
+        when(bookingsRepository.findPeriodsByStatusIn(AvailabilityIndex.ACTIVE_STATUSES))
+                .thenReturn(List.of(
+                        new BookingPeriodDto(1L, ACCOMMODATION_ID, TODAY, TODAY.plusDays(3)),
+                        new BookingPeriodDto(2L, ACCOMMODATION_ID, TODAY, TODAY.plusDays(1))));
+
+        //When (Act)
+        availabilityIndex.verifyConsistency();
+
+        //Then (Assert)
+        assertEquals(2, availabilityIndex.occupiedUnits(
+                ACCOMMODATION_ID, TODAY, TODAY.plusDays(1)));
+        assertEquals(1, availabilityIndex.occupiedUnits(
+                ACCOMMODATION_ID, TODAY.plusDays(1), TODAY.plusDays(3)));
+    }
+
+    @Test
+    @DisplayName("Verify uncommitted reservation is kept by the consistency check")
+    public void verifyConsistency_WithPendingReservation_KeepsReservation() {
+        //Given (Arrange)
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            availabilityIndex.tryReserve(ACCOMMODATION_ID, TODAY, TODAY.plusDays(3), 1);
+            when(bookingsRepository.findPeriodsByStatusIn(AvailabilityIndex.ACTIVE_STATUSES))
+                    .thenReturn(List.of());
+
+            //When (Act)
+            availabilityIndex.verifyConsistency();
+
+            //Then (Assert)
+            assertEquals(1, availabilityIndex.occupiedUnits(
+                    ACCOMMODATION_ID, TODAY, TODAY.plusDays(3)));
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(
+                            TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0, availabilityIndex.occupiedUnits(
+                ACCOMMODATION_ID, TODAY, TODAY.plusDays(3)));
+    }
+}
@@ -0,0 +1,92 @@
+package rental.project.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import rental.project.model.Accommodation;
+import rental.project.model.Booking;
+import rental.project.model.Booking.BookingStatus;
+import rental.project.notification.NotificationService;
+import rental.project.repository.accommodation.AccommodationRepository;
+import rental.project.repository.booking.BookingsRepository;
+import rental.project.service.booking.AvailabilityIndex;
+import rental.project.service.booking.BookingExpiryService;
+import rental.project.service.booking.OccupancyLedger;
+import rental.project.supplier.AccommodationSupplier;
+import rental.project.supplier.BookingSupplier;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingExpiryServiceTest {
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private BookingsRepository bookingsRepository;
+    @Mock
+    private AccommodationRepository accommodationRepository;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+    @Mock
+    private OccupancyLedger occupancyLedger;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private BookingExpiryService bookingExpiryService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookingExpiryService = new BookingExpiryService(bookingsRepository,
+                accommodationRepository, notificationService, availabilityIndex,
+                occupancyLedger, transactionManager, meterRegistry, CHUNK_SIZE);
+    }
+
+    @Test
+    @DisplayName("Verify expired bookings are updated in bulk and released per accommodation")
+    public void markExpiredBookings_WithPendingBookings_ExpiresChunk() {
+        //Given (Arrange)
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        List<Booking> preExpiredList = BookingSupplier.getPreExpiredList();
+        Accommodation accommodation = AccommodationSupplier.getAccommodation();
+
+        when(bookingsRepository.findBookBeforeDateByStatus(tomorrow, BookingStatus.PENDING,
+                0L, PageRequest.of(0, CHUNK_SIZE)))
+                .thenReturn(preExpiredList);
+        when(bookingsRepository.findBookBeforeDateByStatus(tomorrow, BookingStatus.PENDING,
+                2L, PageRequest.of(0, CHUNK_SIZE)))
+                .thenReturn(List.of());
+        when(accommodationRepository.findAllById(Set.of(accommodation.getId())))
+                .thenReturn(List.of(accommodation));
+
+        //When (Act)
+        bookingExpiryService.markExpiredBookings();
+
+        //Then (Assert)
+        verify(bookingsRepository).updateStatusByIds(List.of(1L, 2L), BookingStatus.EXPIRED);
+        verify(occupancyLedger, times(2)).release(
+                eq(accommodation.getId()), any(LocalDate.class), any(LocalDate.class));
+        verify(notificationService).onAccommodationRelease(accommodation);
+        assertEquals(2.0, meterRegistry.counter("booking.expiry.expired").count());
+        assertEquals(1.0, meterRegistry.counter("booking.expiry.chunks").count());
+        assertEquals(1L, meterRegistry.timer("booking.expiry.duration").count());
+    }
+}
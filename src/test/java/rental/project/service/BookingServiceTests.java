@@ -4,16 +4,19 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
-import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import jakarta.persistence.EntityNotFoundException;
-import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,6 +31,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import rental.project.dto.booking.BookingDto;
+import rental.project.dto.booking.BookingVersionDto;
 import rental.project.dto.booking.BookingWithAccommodationInfoDto;
 import rental.project.dto.booking.CreateBookingDto;
 import rental.project.dto.booking.UpdateBookingDto;
@@ -44,11 +48,15 @@ import rental.project.notification.NotificationService;
 import rental.project.repository.accommodation.AccommodationRepository;
 import rental.project.repository.booking.BookingsRepository;
 import rental.project.repository.payment.PaymentsRepository;
+import rental.project.service.booking.AvailabilityIndex;
 import rental.project.service.booking.BookingServiceImpl;
+import rental.project.service.booking.OccupancyLedger;
+import rental.project.service.booking.ReservationRetry;
 import rental.project.supplier.AccommodationSupplier;
 import rental.project.supplier.BookingSupplier;
 import rental.project.supplier.PaymentSupplier;
 import rental.project.supplier.UserSupplier;
+import rental.project.utils.PageUtil;
 
 @ExtendWith(MockitoExtension.class)
 public class BookingServiceTests {
@@ -62,10 +70,27 @@ public class BookingServiceTests {
     private PaymentsRepository paymentsRepository;
     @Mock
     private NotificationService notificationService;
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+    @Mock
+    private OccupancyLedger occupancyLedger;
+    @Mock
+    private ReservationRetry reservationRetry;
 
     @InjectMocks
     private BookingServiceImpl bookingService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(reservationRetry.execute(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     @DisplayName("Verify correct booking dto")
     public void save_WithValidBookingData_ShouldReturnBookingDto() {
@@ -85,6 +110,13 @@ public class BookingServiceTests {
         when(authentication.getPrincipal()).thenReturn(user);
         when(accommodationRepository.findById(createBookingDto.getAccommodationId()))
                 .thenReturn(Optional.of(accommodation));
+        when(availabilityIndex.tryReserve(accommodation.getId(),
+                createBookingDto.getCheckinDate(), createBookingDto.getCheckoutDate(),
+                accommodation.getAvailability()))
+                .thenReturn(true);
+        when(occupancyLedger.reserve(accommodation.getId(),
+                createBookingDto.getCheckinDate(), createBookingDto.getCheckoutDate()))
+                .thenReturn(true);
         when(bookingMapper.toEntity(createBookingDto)).thenReturn(booking);
         when(bookingsRepository.save(booking)).thenReturn(booking);
         when(bookingMapper.toDto(booking)).thenReturn(bookingDto);
@@ -147,14 +179,14 @@ public class BookingServiceTests {
         CreateBookingDto createBookingDto = BookingSupplier.getBookingCreateDto();
         Booking booking = BookingSupplier.getBooking();
         Accommodation accommodation = AccommodationSupplier.getAccommodation();
-        List<Booking> bookings = BookingSupplier.getBookingList();
 
         when(authentication.getPrincipal()).thenReturn(user);
         when(accommodationRepository.findById(createBookingDto.getAccommodationId()))
                 .thenReturn(Optional.of(accommodation));
-        when(bookingsRepository.findByDateRange(accommodation.getId(),
-                booking.getCheckinDate(), booking.getCheckoutDate()))
-                .thenReturn(bookings);
+        when(availabilityIndex.tryReserve(accommodation.getId(),
+                booking.getCheckinDate(), booking.getCheckoutDate(),
+                accommodation.getAvailability()))
+                .thenReturn(false);
 
         //When (Act)
         AccessException exception = assertThrows(AccessException.class,
@@ -165,8 +197,9 @@ public class BookingServiceTests {
         assertEquals(expectedMessage, exception.getMessage());
 
         verify(accommodationRepository).findById(createBookingDto.getAccommodationId());
-        verify(bookingsRepository).findByDateRange(accommodation.getId(),
-                booking.getCheckinDate(), booking.getCheckoutDate());
+        verify(availabilityIndex).tryReserve(accommodation.getId(),
+                booking.getCheckinDate(), booking.getCheckoutDate(),
+                accommodation.getAvailability());
     }
 
     @Test
@@ -230,13 +263,20 @@ public class BookingServiceTests {
     @DisplayName("Verify correct booking dto list returned")
     public void getAllMyBookings_ShouldReturnBookingDtoList() {
         //Given (Arrange)
-        Long userId = UserSupplier.getUser().getId();
+        User user = UserSupplier.getUser();
+        Authentication authentication = mock(Authentication.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(user);
+        SecurityContextHolder.setContext(securityContext);
+
+        Long userId = user.getId();
         Pageable pageable = PageRequest.of(0, 2);
         List<Booking> bookings = BookingSupplier.getBookingList();
         Page<Booking> bookingPage = new PageImpl<>(bookings);
         List<BookingDto> bookingDtoList = BookingSupplier.getBookingDtoList();
 
-        when(bookingsRepository.findByUserId(userId, pageable))
+        when(bookingsRepository.findByUserId(userId, PageUtil.orderedById(pageable)))
                 .thenReturn(bookingPage);
         when(bookingMapper.toDto(bookings.get(0))).thenReturn(bookingDtoList.get(0));
         when(bookingMapper.toDto(bookings.get(1))).thenReturn(bookingDtoList.get(1));
@@ -247,7 +287,7 @@ public class BookingServiceTests {
         //Then (Assert)
         assertEquals(actual, bookingDtoList);
 
-        verify(bookingsRepository).findByUserId(userId, pageable);
+        verify(bookingsRepository).findByUserId(userId, PageUtil.orderedById(pageable));
         verify(bookingMapper, times(bookings.size())).toDto(any(Booking.class));
     }
 
@@ -267,7 +307,7 @@ public class BookingServiceTests {
         Booking booking = BookingSupplier.getBookingOfCustomer();
         SecurityContextHolder.setContext(securityContext);
 
-        when(bookingsRepository.findById(booking.getId()))
+        when(bookingsRepository.findWithAccommodationById(booking.getId()))
                 .thenReturn(Optional.of(booking));
         when(bookingMapper.toDetailedDto(booking)).thenReturn(bookingWithInfoDto);
 
@@ -278,7 +318,7 @@ public class BookingServiceTests {
         //Then (Assert)
         assertEquals(actual, bookingWithInfoDto);
 
-        verify(bookingsRepository).findById(booking.getId());
+        verify(bookingsRepository).findWithAccommodationById(booking.getId());
         verify(bookingMapper).toDetailedDto(booking);
     }
 
@@ -294,7 +334,7 @@ public class BookingServiceTests {
         SecurityContextHolder.setContext(securityContext);
 
         Booking booking = BookingSupplier.getBooking();
-        when(bookingsRepository.findById(booking.getId()))
+        when(bookingsRepository.findWithAccommodationById(booking.getId()))
                 .thenReturn(Optional.of(booking));
 
         //When (Act)
@@ -306,7 +346,54 @@ public class BookingServiceTests {
         String expectedMessage = "You can't access this booking data";
         assertEquals(exception.getMessage(), expectedMessage);
 
-        verify(bookingsRepository).findById(booking.getId());
+        verify(bookingsRepository).findWithAccommodationById(booking.getId());
+    }
+
+    @Test
+    @DisplayName("Verify entity tag built from booking and accommodation versions")
+    public void getBookingETag_ForOwner_ReturnsVersionTag() {
+        //Given (Arrange)
+        User customerUser = UserSupplier.getCustomerUser();
+        Authentication authentication = mock(Authentication.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(customerUser);
+        SecurityContextHolder.setContext(securityContext);
+
+        Long bookingId = 1L;
+        when(bookingsRepository.findVersionById(bookingId))
+                .thenReturn(Optional.of(new BookingVersionDto(customerUser.getId(), 3, 7L)));
+
+        //When (Act)
+        String actual = bookingService.getBookingETag(bookingId);
+
+        //Then (Assert)
+        assertEquals("\"1-3-7\"", actual);
+        verify(bookingsRepository, never()).findById(bookingId);
+    }
+
+    @Test
+    @DisplayName("Verify exception thrown for entity tag of other user's booking")
+    public void getBookingETag_ForWrongUser_ThrowsException() {
+        //Given (Arrange)
+        User customerUser = UserSupplier.getCustomerUser();
+        Authentication authentication = mock(Authentication.class);
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(customerUser);
+        SecurityContextHolder.setContext(securityContext);
+
+        Long bookingId = 1L;
+        Long otherUserId = UserSupplier.getUser().getId();
+        when(bookingsRepository.findVersionById(bookingId))
+                .thenReturn(Optional.of(new BookingVersionDto(otherUserId, 0, 0L)));
+
+        //When (Act)
+        AccessException exception = assertThrows(AccessException.class,
+                () -> bookingService.getBookingETag(bookingId));
+
+        //Then (Assert)
+        assertEquals("You can't access this booking data", exception.getMessage());
     }
 
     @Test
@@ -405,6 +492,9 @@ public class BookingServiceTests {
 
         when(bookingsRepository.findById(booking.getId()))
                 .thenReturn(Optional.of(booking));
+        when(occupancyLedger.reserve(booking.getAccommodation().getId(),
+                booking.getCheckinDate(), booking.getCheckoutDate()))
+                .thenReturn(true);
         when(bookingMapper.toDto(booking))
                 .thenReturn(bookingDto);
         when(bookingsRepository.save(booking))
@@ -456,6 +546,9 @@ public class BookingServiceTests {
 
         when(bookingsRepository.findById(booking.getId()))
                 .thenReturn(Optional.of(booking));
+        when(occupancyLedger.reserve(booking.getAccommodation().getId(),
+                booking.getCheckinDate(), booking.getCheckoutDate()))
+                .thenReturn(true);
         when(bookingMapper.toDto(booking))
                 .thenReturn(bookingDto);
         when(bookingsRepository.save(booking))
@@ -496,27 +589,4 @@ public class BookingServiceTests {
 
         verify(bookingsRepository).findById(wrongId);
     }
-
-    @Test
-    @DisplayName("Verify correct total number returned")
-    public void markExpiredBookings_ReturnsBigDecimal() {
-        //Given (Arrange)
-        LocalDate tomorrow = LocalDate.now().plusDays(1);
-        List<Booking> preExpiredList = BookingSupplier.getPreExpiredList();
-        List<Booking> expiredList = BookingSupplier.getExpiredList();
-
-        when(bookingsRepository.findBookBeforeDateByStatus(
-                tomorrow, BookingStatus.PENDING))
-                .thenReturn(preExpiredList);
-        when(bookingsRepository.saveAll(anyList()))
-                .thenReturn(expiredList);
-
-        //When (Act)
-        bookingService.markExpiredBookings();
-
-        //Then (Assert)
-        verify(bookingsRepository).findBookBeforeDateByStatus(
-                tomorrow, BookingStatus.PENDING);
-        verify(bookingsRepository).saveAll(anyList());
-    }
 }
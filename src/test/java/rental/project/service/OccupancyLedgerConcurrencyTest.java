@@ -0,0 +1,131 @@
+package rental.project.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import rental.project.dto.booking.CreateBookingDto;
+import rental.project.exception.AccessException;
+import rental.project.model.User;
+import rental.project.repository.occupancy.AccommodationOccupancyRepository;
+import rental.project.service.booking.BookingService;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class OccupancyLedgerConcurrencyTest {
+    private static final int CONCURRENT_REQUESTS = 64;
+    private static final Long ACCOMMODATION_ID = 3L;
+    private static final int AVAILABLE_UNITS = 3;
+    private static final Long USER_ID = 2L;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private AccommodationOccupancyRepository occupancyRepository;
+
+    @BeforeAll
+    static void beforeAll(@Autowired DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/delete-all.sql")
+            );
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/accommodation/add-three-accommodations.sql")
+            );
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/user/add-two-users.sql")
+            );
+        }
+    }
+
+    @AfterAll
+    static void afterAll(@Autowired DataSource dataSource) {
+        tearDown(dataSource);
+    }
+
+    @SneakyThrows
+    static void tearDown(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/delete-all.sql")
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Verify concurrent bookings take exactly the available units")
+    public void save_WithConcurrentRequests_DoesNotOverbook() throws Exception {
+        //Given (Arrange)
+        LocalDate checkin = LocalDate.now().plusDays(10);
+        LocalDate checkout = checkin.plusDays(3);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        //When (Act)
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return book(checkin, checkout);
+            }));
+        }
+        start.countDown();
+        int reserved = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                reserved++;
+            }
+        }
+        executor.shutdown();
+
+        //Then (Assert)
+        assertEquals(AVAILABLE_UNITS, reserved);
+        assertEquals(AVAILABLE_UNITS, occupancyRepository.findMaxBookedUnits(
+                ACCOMMODATION_ID, checkin, checkout.minusDays(1)));
+    }
+
+    private boolean book(LocalDate checkin, LocalDate checkout) {
+        User user = new User();
+        user.setId(USER_ID);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        try {
+            bookingService.save(new CreateBookingDto()
+                    .setAccommodationId(ACCOMMODATION_ID)
+                    .setCheckinDate(checkin)
+                    .setCheckoutDate(checkout));
+            return true;
+        } catch (AccessException e) {
+            return false;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
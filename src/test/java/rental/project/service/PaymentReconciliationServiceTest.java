@@ -0,0 +1,148 @@
+package rental.project.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.stripe.exception.ApiException;
+import com.stripe.model.checkout.Session;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import rental.project.dto.payment.PaymentSessionDto;
+import rental.project.model.Payment;
+import rental.project.repository.payment.PaymentsRepository;
+import rental.project.service.payment.PaymentReconciliationService;
+import rental.project.service.payment.PaymentServiceImpl;
+import rental.project.stripe.StripeUtil;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentReconciliationServiceTest {
+    private static final int PENDING_PAYMENTS = 5000;
+    private static final int LISTED_SESSIONS = 4000;
+    private static final int BATCH_SIZE = 1000;
+
+    @Mock
+    private PaymentsRepository paymentsRepository;
+    @Mock
+    private StripeUtil stripeUtil;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PaymentReconciliationService reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        reconciliationService = new PaymentReconciliationService(paymentsRepository,
+                stripeUtil, transactionManager, 24, 8, BATCH_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reconciliationService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Verify listed sessions are not looked up and expired ones are batch updated")
+    public void markExpiredPayments_WithThousandsOfPending_ExpiresInBatches() throws Exception {
+        //Given (Arrange)
+        List<PaymentSessionDto> pending = IntStream.range(0, PENDING_PAYMENTS)
+                .mapToObj(i -> new PaymentSessionDto((long) i, sessionId(i)))
+                .toList();
+        List<Session> listed = IntStream.range(0, LISTED_SESSIONS)
+                .mapToObj(i -> session(sessionId(i), statusOf(i)))
+                .toList();
+
+        when(paymentsRepository.findSessionsByStatus(Payment.PaymentStatus.PENDING))
+                .thenReturn(pending);
+        when(stripeUtil.listSessions(anyLong())).thenReturn(listed);
+        when(stripeUtil.receiveSession(anyString())).thenAnswer(invocation -> {
+            String sessionId = invocation.getArgument(0);
+            int index = Integer.parseInt(sessionId.substring("cs_test_".length()));
+            return session(sessionId, statusOf(index));
+        });
+        when(paymentsRepository.updateStatusBySessionIds(anyCollection(),
+                eq(Payment.PaymentStatus.PENDING), eq(Payment.PaymentStatus.EXPIRED)))
+                .thenAnswer(invocation -> invocation.<Collection<String>>getArgument(0).size());
+
+        //When (Act)
+        reconciliationService.markExpiredPayments();
+
+        //Then (Assert)
+        verify(stripeUtil, times(PENDING_PAYMENTS - LISTED_SESSIONS))
+                .receiveSession(anyString());
+        ArgumentCaptor<Collection<String>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(paymentsRepository, times(2)).updateStatusBySessionIds(batches.capture(),
+                eq(Payment.PaymentStatus.PENDING), eq(Payment.PaymentStatus.EXPIRED));
+        Set<String> expired = new HashSet<>();
+        batches.getAllValues().forEach(batch -> {
+            assertTrue(batch.size() <= BATCH_SIZE);
+            expired.addAll(batch);
+        });
+        assertEquals(PENDING_PAYMENTS / 3 + 1, expired.size());
+        assertTrue(expired.stream().allMatch(sessionId -> statusOf(Integer.parseInt(
+                sessionId.substring("cs_test_".length())))
+                .equals(PaymentServiceImpl.SESSION_EXPIRED_STATUS)));
+    }
+
+    @Test
+    @DisplayName("Verify every session is looked up when listing fails")
+    public void markExpiredPayments_WithFailedListing_FallsBackToLookups() throws Exception {
+        //Given (Arrange)
+        List<PaymentSessionDto> pending = new ArrayList<>();
+        pending.add(new PaymentSessionDto(1L, sessionId(1)));
+        pending.add(new PaymentSessionDto(2L, sessionId(2)));
+
+        when(paymentsRepository.findSessionsByStatus(Payment.PaymentStatus.PENDING))
+                .thenReturn(pending);
+        when(stripeUtil.listSessions(anyLong()))
+                .thenThrow(new ApiException("unavailable", null, null, 503, null));
+        when(stripeUtil.receiveSession(anyString())).thenAnswer(invocation ->
+                session(invocation.getArgument(0), PaymentServiceImpl.SESSION_OPEN_STATUS));
+
+        //When (Act)
+        reconciliationService.markExpiredPayments();
+
+        //Then (Assert)
+        verify(stripeUtil, times(2)).receiveSession(anyString());
+        verify(paymentsRepository, never())
+                .updateStatusBySessionIds(anyCollection(), any(), any());
+    }
+
+    private static String sessionId(int index) {
+        return "cs_test_" + index;
+    }
+
+    private static String statusOf(int index) {
+        return index % 3 == 0
+                ? PaymentServiceImpl.SESSION_EXPIRED_STATUS
+                : PaymentServiceImpl.SESSION_OPEN_STATUS;
+    }
+
+    private static Session session(String sessionId, String status) {
+        Session session = new Session();
+        session.setId(sessionId);
+        session.setStatus(status);
+        return session;
+    }
+}
@@ -28,7 +28,6 @@ import rental.project.dto.booking.BookingWithAccommodationInfoDto;
 import rental.project.dto.payment.CreatePaymentDto;
 import rental.project.dto.payment.PaymentDto;
 import rental.project.exception.PaymentException;
-import rental.project.mapper.BookingMapper;
 import rental.project.mapper.PaymentMapper;
 import rental.project.model.Booking;
 import rental.project.model.Payment;
@@ -40,6 +39,7 @@ import rental.project.service.payment.PaymentServiceImpl;
 import rental.project.stripe.StripeUtil;
 import rental.project.supplier.BookingSupplier;
 import rental.project.supplier.PaymentSupplier;
+import rental.project.utils.PageUtil;
 
 @ExtendWith(MockitoExtension.class)
 public class PaymentServiceTests {
@@ -48,8 +48,6 @@ public class PaymentServiceTests {
     @Mock
     private StripeUtil stripeUtil;
     @Mock
-    private BookingMapper bookingMapper;
-    @Mock
     private PaymentMapper paymentMapper;
     @Mock
     private PaymentsRepository paymentsRepository;
@@ -71,7 +69,8 @@ public class PaymentServiceTests {
         Pageable pageable = PageRequest.of(0, 2);
         long userId = 1L;
 
-        when(paymentsRepository.findAllByUserId(userId, pageable))
+        when(paymentsRepository.findAllByUserId(userId,
+                PageUtil.orderedById(pageable)))
                 .thenReturn(payments);
         when(paymentMapper.toDto(any(Payment.class)))
                 .thenReturn(paymentDtoList.get(0));
@@ -84,6 +83,26 @@ public class PaymentServiceTests {
         assertEquals(expected, paymentDtoList);
     }
 
+    @Test
+    @DisplayName("Verify all payments are read by the given page")
+    public void getAll_WithPageable_ShouldReadOnlyThatPage() {
+        //Given (Arrange)
+        List<PaymentDto> paymentDtoList = PaymentSupplier.getPaymentDtoList();
+        Pageable pageable = PageRequest.of(1, 1);
+
+        when(paymentsRepository.findAll(pageable))
+                .thenReturn(new PageImpl<>(PaymentSupplier.getPaymentList()));
+        when(paymentMapper.toDto(any(Payment.class)))
+                .thenReturn(paymentDtoList.get(0));
+
+        //When (Act)
+        List<PaymentDto> actual = paymentService.getAll(pageable);
+
+        //Then (Assert)
+        assertEquals(paymentDtoList, actual);
+        verify(paymentsRepository).findAll(pageable);
+    }
+
     @Test
     @DisplayName("Verify exception thrown with pre existing booking")
     public void save_WithExistingLinkedBooking_ThrowsException() {
@@ -129,10 +148,8 @@ public class PaymentServiceTests {
                 .thenReturn(totalAmount);
         when(stripeUtil.createSession(totalAmount, sessionName))
                     .thenReturn(session);
-        when(bookingMapper.toEntity(bookingDetailsById))
-                .thenReturn(booking);
-        when(bookingsRepository.save(booking))
-                .thenReturn(booking);
+        when(bookingsRepository.findById(bookingId))
+                .thenReturn(Optional.of(booking));
         when(paymentMapper.toDto(payment))
                 .thenReturn(paymentDto);
         when(paymentsRepository.save(any(Payment.class)))
@@ -148,8 +165,8 @@ public class PaymentServiceTests {
         verify(bookingService).getBookingDetailsById(bookingId);
         verify(bookingService).countTotalAmount(bookingId);
         verify(stripeUtil).createSession(totalAmount, sessionName);
-        verify(bookingMapper).toEntity(bookingDetailsById);
-        verify(bookingsRepository).save(booking);
+        verify(bookingsRepository).findById(bookingId);
+        assertEquals(Booking.BookingStatus.CONFIRMED, booking.getStatus());
         verify(paymentMapper).toDto(payment);
         verify(paymentsRepository).save(any(Payment.class));
     }
@@ -176,10 +193,8 @@ public class PaymentServiceTests {
                 .thenReturn(totalAmount);
         when(stripeUtil.createSession(totalAmount, sessionName))
                 .thenReturn(session);
-        when(bookingMapper.toEntity(bookingDetailsById))
-                .thenReturn(booking);
-        when(bookingsRepository.save(booking))
-                .thenReturn(booking);
+        when(bookingsRepository.findById(bookingId))
+                .thenReturn(Optional.of(booking));
 
         //When (Act)
         PaymentException exception = assertThrows(PaymentException.class,
@@ -192,8 +207,7 @@ public class PaymentServiceTests {
         verify(bookingService).getBookingDetailsById(bookingId);
         verify(bookingService).countTotalAmount(bookingId);
         verify(stripeUtil).createSession(totalAmount, sessionName);
-        verify(bookingMapper).toEntity(bookingDetailsById);
-        verify(bookingsRepository).save(booking);
+        verify(bookingsRepository).findById(bookingId);
     }
 
     @Test
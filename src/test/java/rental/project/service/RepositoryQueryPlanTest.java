@@ -0,0 +1,164 @@
+package rental.project.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import rental.project.config.QueryPlan;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RepositoryQueryPlanTest {
+    // SQL of the repository queries with sample values, keyed by method
+    private static final Map<String, String> REPOSITORY_QUERIES = Map.ofEntries(
+            Map.entry("AccommodationRepository.findAfter",
+                    "SELECT * FROM accommodations "
+                            + "WHERE is_deleted = false AND id > 1 ORDER BY id"),
+            Map.entry("AccommodationRepository.findAvailable",
+                    "SELECT a.* FROM accommodations a "
+                            + "WHERE a.is_deleted = false AND a.availability >= 2 "
+                            + "AND NOT EXISTS (SELECT 1 FROM accommodation_occupancy o "
+                            + "WHERE o.accommodation_id = a.id "
+                            + "AND o.occupancy_date BETWEEN CURDATE() "
+                            + "AND CURDATE() + INTERVAL 3 DAY "
+                            + "AND o.booked_units > a.availability - 2)"),
+            Map.entry("AccommodationRepository.findNearest",
+                    "SELECT * FROM accommodations "
+                            + "WHERE is_deleted = false "
+                            + "AND latitude BETWEEN 49.9 AND 50.1 "
+                            + "AND longitude BETWEEN 14.8 AND 15.2"),
+            Map.entry("AccommodationOccupancyRepository.countDays",
+                    "SELECT COUNT(*) FROM accommodation_occupancy "
+                            + "WHERE accommodation_id = 1 "
+                            + "AND occupancy_date BETWEEN CURDATE() "
+                            + "AND CURDATE() + INTERVAL 3 DAY"),
+            Map.entry("AccommodationOccupancyRepository.findMaxBookedUnits",
+                    "SELECT COALESCE(MAX(booked_units), 0) FROM accommodation_occupancy "
+                            + "WHERE accommodation_id = 1 "
+                            + "AND occupancy_date BETWEEN CURDATE() "
+                            + "AND CURDATE() + INTERVAL 3 DAY"),
+            Map.entry("BookingsRepository.findByUserId",
+                    "SELECT * FROM bookings WHERE user_id = 1"),
+            Map.entry("BookingsRepository.findByUserIdAndStatus",
+                    "SELECT * FROM bookings "
+                            + "WHERE user_id = 1 AND status IN ('PENDING', 'CONFIRMED')"),
+            Map.entry("BookingsRepository.findByUserIdAfter",
+                    "SELECT * FROM bookings WHERE user_id = 1 "
+                            + "AND (checkin_date > CURDATE() "
+                            + "OR (checkin_date = CURDATE() AND id > 1)) "
+                            + "ORDER BY checkin_date, id"),
+            Map.entry("BookingsRepository.findByUserIdAndStatusAfter",
+                    "SELECT * FROM bookings WHERE user_id = 1 "
+                            + "AND status IN ('PENDING') AND id > 1 ORDER BY id"),
+            Map.entry("BookingsRepository.findByDateRange",
+                    "SELECT * FROM bookings WHERE accommodation_id = 1 "
+                            + "AND checkin_date <= CURDATE() + INTERVAL 3 DAY "
+                            + "AND checkout_date >= CURDATE()"),
+            Map.entry("BookingsRepository.findBookBeforeDateByStatus",
+                    "SELECT * FROM bookings WHERE checkout_date < CURDATE() "
+                            + "AND status = 'PENDING' AND id > 0 ORDER BY id"),
+            Map.entry("BookingsRepository.findPeriodsByStatusIn",
+                    "SELECT id, accommodation_id, checkin_date, checkout_date FROM bookings "
+                            + "WHERE status IN ('PENDING', 'CONFIRMED')"),
+            Map.entry("PaymentsRepository.findByBookingId",
+                    "SELECT * FROM payments WHERE booking_id = 1"),
+            Map.entry("PaymentsRepository.findBySessionId",
+                    "SELECT * FROM payments WHERE session_id = 'cs_test_a1h5'"),
+            Map.entry("PaymentsRepository.findAllByUserId",
+                    "SELECT p.* FROM payments p JOIN bookings b ON b.id = p.booking_id "
+                            + "WHERE b.user_id = 1"),
+            Map.entry("PaymentsRepository.findAllByStatus",
+                    "SELECT p.* FROM payments p JOIN bookings b ON b.id = p.booking_id "
+                            + "WHERE p.status = 'PENDING'"),
+            Map.entry("PaymentsRepository.findSessionsByStatus",
+                    "SELECT id, session_id FROM payments WHERE status = 'PENDING'"),
+            Map.entry("PaymentsRepository.updateStatusBySessionIds",
+                    "UPDATE payments SET status = 'EXPIRED' "
+                            + "WHERE session_id IN ('cs_test_a1h5') AND status = 'PENDING'"),
+            Map.entry("TelegramUserDataRepository.findFirstByChatId",
+                    "SELECT * FROM telegram_users_data WHERE chat_id = '123456789' LIMIT 1"),
+            Map.entry("TelegramUserDataRepository.findFirstByUserId",
+                    "SELECT * FROM telegram_users_data WHERE user_id = 1 LIMIT 1"),
+            Map.entry("UserRepository.findByEmail",
+                    "SELECT * FROM users WHERE email = 'janedoe@gmail.com'"),
+            Map.entry("StripeEventRepository.findIdsReceivedSince",
+                    "SELECT id FROM stripe_events "
+                            + "WHERE received_at >= NOW() - INTERVAL 1 DAY "
+                            + "ORDER BY received_at"),
+            Map.entry("OutboxEventRepository.findPending",
+                    "SELECT * FROM outbox_events WHERE attempts < 5 ORDER BY id"),
+            Map.entry("TelegramDeliveryRepository.findDue",
+                    "SELECT * FROM telegram_deliveries "
+                            + "WHERE next_attempt_at <= NOW() AND attempts < 5 ORDER BY id"));
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeAll
+    static void beforeAll(@Autowired DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/delete-all.sql")
+            );
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/accommodation/add-three-accommodations.sql")
+            );
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/user/add-two-users.sql")
+            );
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/booking/add-two-bookings.sql")
+            );
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/payment/add-payment.sql")
+            );
+        }
+    }
+
+    @AfterAll
+    static void afterAll(@Autowired DataSource dataSource) {
+        tearDown(dataSource);
+    }
+
+    @SneakyThrows
+    static void tearDown(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/delete-all.sql")
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Verify no repository query falls back to a full table scan")
+    public void explain_WithRepositoryQueries_UsesIndexes() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            //Given (Arrange)
+            QueryPlan.useProductionCosts(connection);
+
+            //When (Act)
+            //Then (Assert)
+            for (Map.Entry<String, String> query : REPOSITORY_QUERIES.entrySet()) {
+                QueryPlan.assertIndexed(connection, query.getKey(), query.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package rental.project.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import rental.project.exception.AccessException;
+import rental.project.service.booking.ReservationRetry;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationRetryTest {
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReservationRetry reservationRetry;
+
+    @BeforeEach
+    void setUp() {
+        reservationRetry = new ReservationRetry(transactionManager, MAX_ATTEMPTS);
+    }
+
+    @Test
+    @DisplayName("Verify transaction lost to a deadlock is run again")
+    public void execute_WithDeadlock_RetriesTransaction() {
+        //Given (Arrange)
+        AtomicInteger attempts = new AtomicInteger();
+
+        //When (Act)
+        String actual = reservationRetry.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new CannotAcquireLockException("Deadlock found");
+            }
+            return "booked";
+        });
+
+        //Then (Assert)
+        assertEquals("booked", actual);
+        assertEquals(2, attempts.get());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Verify deadlock is rethrown once every attempt is used")
+    public void execute_WithRepeatedDeadlocks_ThrowsException() {
+        //Given (Arrange)
+        AtomicInteger attempts = new AtomicInteger();
+
+        //When (Act)
+        assertThrows(CannotAcquireLockException.class, () -> reservationRetry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new CannotAcquireLockException("Deadlock found");
+        }));
+
+        //Then (Assert)
+        assertEquals(MAX_ATTEMPTS, attempts.get());
+        verify(transactionManager, times(MAX_ATTEMPTS)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Verify other failures are not retried")
+    public void execute_WithUnavailableAccommodation_DoesNotRetry() {
+        //Given (Arrange)
+        AtomicInteger attempts = new AtomicInteger();
+
+        //When (Act)
+        assertThrows(AccessException.class, () -> reservationRetry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new AccessException("This accommodation is not available.");
+        }));
+
+        //Then (Assert)
+        assertEquals(1, attempts.get());
+    }
+}
@@ -0,0 +1,97 @@
+package rental.project.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import rental.project.model.TelegramUser;
+import rental.project.repository.telegram.TelegramUserDataRepository;
+import rental.project.service.telegramuser.TelegramSubscriberRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramSubscriberRegistryTest {
+    @Mock
+    private TelegramUserDataRepository telegramUserDataRepository;
+
+    @InjectMocks
+    private TelegramSubscriberRegistry telegramSubscriberRegistry;
+
+    @BeforeEach
+    void setUp() {
+        when(telegramUserDataRepository.findAll()).thenReturn(List.of(
+                new TelegramUser().setChatId("1"),
+                new TelegramUser().setChatId("2")
+                        .setTopics(new String[] {"BOOKINGS"}),
+                new TelegramUser().setChatId("3")
+                        .setTopics(new String[] {"ACCOMMODATIONS"})
+                        .setCities(new String[] {"Kyiv"})
+                        .setAccommodationTypes(new String[] {"HOUSE"})));
+        telegramSubscriberRegistry.load();
+    }
+
+    @Test
+    @DisplayName("Verify subscribers are filtered by topic")
+    public void chatIds_WithTopic_ReturnsSubscribedChats() {
+        //When (Act)
+        Set<String> bookings = telegramSubscriberRegistry.chatIds(
+                TelegramUser.Topic.BOOKINGS, null, null);
+        Set<String> payments = telegramSubscriberRegistry.chatIds(
+                TelegramUser.Topic.PAYMENTS, null, null);
+
+        //Then (Assert)
+        assertEquals(Set.of("1", "2"), bookings);
+        assertEquals(Set.of("1"), payments);
+    }
+
+    @Test
+    @DisplayName("Verify accommodation subscribers are filtered by city and type")
+    public void chatIds_WithCityAndType_ReturnsMatchingChats() {
+        //When (Act)
+        Set<String> kyivHouses = telegramSubscriberRegistry.chatIds(
+                TelegramUser.Topic.ACCOMMODATIONS, "kyiv", "HOUSE");
+        Set<String> lvivHouses = telegramSubscriberRegistry.chatIds(
+                TelegramUser.Topic.ACCOMMODATIONS, "Lviv", "HOUSE");
+
+        //Then (Assert)
+        assertEquals(Set.of("1", "3"), kyivHouses);
+        assertEquals(Set.of("1"), lvivHouses);
+    }
+
+    @Test
+    @DisplayName("Verify registered subscriber is visible without reloading")
+    public void register_WithNewUser_AddsSubscriber() {
+        //Given (Arrange)
+        TelegramUser telegramUser = new TelegramUser().setChatId("4");
+        assertFalse(telegramSubscriberRegistry.contains("4"));
+
+        //When (Act)
+        telegramSubscriberRegistry.register(telegramUser);
+
+        //Then (Assert)
+        assertTrue(telegramSubscriberRegistry.contains("4"));
+        assertEquals(Set.of("1", "2", "3", "4"), telegramSubscriberRegistry.chatIds());
+    }
+
+    @Test
+    @DisplayName("Verify unregistered chat no longer receives events")
+    public void unregister_WithSubscribedChat_RemovesSubscriber() {
+        //When (Act)
+        telegramSubscriberRegistry.unregister("2");
+
+        //Then (Assert)
+        assertFalse(telegramSubscriberRegistry.contains("2"));
+        assertEquals(Set.of("1"), telegramSubscriberRegistry.chatIds(
+                TelegramUser.Topic.BOOKINGS, null, null));
+        assertTrue(telegramSubscriberRegistry.isLoaded());
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -20,6 +21,7 @@ import rental.project.model.TelegramUser;
 import rental.project.model.User;
 import rental.project.repository.telegram.TelegramUserDataRepository;
 import rental.project.security.UserDetailsServiceImpl;
+import rental.project.service.telegramuser.TelegramSubscriberRegistry;
 import rental.project.service.telegramuser.TelegramUserDataServiceImpl;
 import rental.project.supplier.TelegramUserSupplier;
 import rental.project.supplier.UserSupplier;
@@ -30,6 +32,8 @@ public class TelegramUserDataServiceTest {
     private UserDetailsServiceImpl userDetailsService;
     @Mock
     private TelegramUserDataRepository telegramUserDataRepository;
+    @Mock
+    private TelegramSubscriberRegistry telegramSubscriberRegistry;
 
     @InjectMocks
     private TelegramUserDataServiceImpl tgUserDataService;
@@ -56,6 +60,7 @@ public class TelegramUserDataServiceTest {
         assertEquals(actual, expected);
         verify(userDetailsService).loadUserByUsername(email);
         verify(telegramUserDataRepository).save(any(TelegramUser.class));
+        verify(telegramSubscriberRegistry).register(expected);
     }
 
     @Test
@@ -64,7 +69,7 @@ public class TelegramUserDataServiceTest {
         //Given (Arrange)
         Set<String> expected = Set.of("123456780", "123456789", "223456739");
 
-        when(telegramUserDataRepository.findAllTelegramChatIds())
+        when(telegramSubscriberRegistry.chatIds())
                 .thenReturn(expected);
 
         //When (Act)
@@ -73,7 +78,7 @@ public class TelegramUserDataServiceTest {
         //Then (Assert)
         assertNotNull(actual);
         assertEquals(actual, expected);
-        verify(telegramUserDataRepository).findAllTelegramChatIds();
+        verify(telegramSubscriberRegistry).chatIds();
     }
 
     @Test
@@ -151,4 +156,33 @@ public class TelegramUserDataServiceTest {
         assertEquals(exception.getMessage(), expectedMessage);
         verify(telegramUserDataRepository).findFirstByUserId(wrongUserId);
     }
+
+    @Test
+    @DisplayName("Exception thrown by using unknown topic")
+    public void updateTopics_WithUnknownTopic_ThrowsException() {
+        //Given (Arrange)
+        String chatId = TelegramUserSupplier.getTelegramUser().getChatId();
+        String[] topics = {"bookings", "weather"};
+
+        //When (Act)
+        assertThrows(IllegalArgumentException.class,
+                () -> tgUserDataService.updateTopics(chatId, topics));
+
+        //Then (Assert)
+        verify(telegramUserDataRepository, never()).save(any(TelegramUser.class));
+    }
+
+    @Test
+    @DisplayName("Verify unsubscribed chat is deleted and dropped from the registry")
+    public void unsubscribe_WithChatId_DeletesTelegramUser() {
+        //Given (Arrange)
+        String chatId = TelegramUserSupplier.getTelegramUser().getChatId();
+
+        //When (Act)
+        tgUserDataService.unsubscribe(chatId);
+
+        //Then (Assert)
+        verify(telegramUserDataRepository).deleteByChatId(chatId);
+        verify(telegramSubscriberRegistry).unregister(chatId);
+    }
 }
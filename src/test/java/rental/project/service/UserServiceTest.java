@@ -20,7 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import rental.project.dto.auth.UserRegisterRequestDto;
 import rental.project.dto.auth.UserRegisterResponseDto;
 import rental.project.dto.user.UpdateUserDataDto;
@@ -30,7 +30,8 @@ import rental.project.exception.RegistrationException;
 import rental.project.mapper.UserMapper;
 import rental.project.model.User;
 import rental.project.repository.user.UserRepository;
-import rental.project.security.SecurityUtil;
+import rental.project.security.TokenVersionRegistry;
+import rental.project.security.UserPrincipalCache;
 import rental.project.service.user.UserServiceImpl;
 import rental.project.supplier.UserSupplier;
 
@@ -39,9 +40,13 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -61,8 +66,8 @@ public class UserServiceTest {
 
         UserDto userDto = UserSupplier.getUserDto();
 
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(userMapper.toUserDto(user)).thenReturn(userDto);
-        when(SecurityUtil.getLoggedInUser()).thenReturn(user);
 
         //When (Act)
         UserDto actual = userService.getCurrentUserData();
@@ -137,6 +142,7 @@ public class UserServiceTest {
         UserDto userDto = UserSupplier.getUserDto();
         UpdateUserDataDto updateUserDataDto = UserSupplier.getUpdateUserDataDto();
 
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(userRepository.save(user)).thenReturn(user);
         when(userMapper.toUserDto(user)).thenReturn(userDto);
 
@@ -149,6 +155,8 @@ public class UserServiceTest {
                 .save(user);
         verify(userMapper, times(1))
                 .toUserDto(user);
+        verify(userPrincipalCache, times(1))
+                .invalidate(user.getEmail());
     }
 
     @Test
@@ -175,6 +183,11 @@ public class UserServiceTest {
                 .save(user);
         verify(userMapper, times(1))
                 .toUserDto(user);
+        verify(userPrincipalCache, times(1))
+                .invalidate(user.getEmail());
+        verify(tokenVersionRegistry, times(1))
+                .update(validId, 1);
+        assertEquals(1, user.getTokenVersion());
     }
 
     @Test
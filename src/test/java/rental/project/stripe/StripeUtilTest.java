@@ -0,0 +1,151 @@
+package rental.project.stripe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.stripe.model.checkout.Session;
+import com.stripe.param.checkout.SessionListParams;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class StripeUtilTest {
+    private static final Duration OPEN_TTL = Duration.ofSeconds(5);
+    private static final Duration TERMINAL_TTL = Duration.ofHours(1);
+    private static final String SESSION_ID = "cs_test_a1h5";
+
+    private final AtomicInteger remoteCalls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private MeterRegistry meterRegistry;
+    private StripeUtil stripeUtil;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stripeUtil = new StripeUtil("", 100, OPEN_TTL, TERMINAL_TTL, meterRegistry) {
+            @Override
+            protected Iterable<Session> fetchSessions(SessionListParams params) {
+                Iterator<Session> firstPage = List.of(session(SESSION_ID, "open")).iterator();
+                return () -> new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return true;
+                    }
+
+                    @Override
+                    public Session next() {
+                        if (firstPage.hasNext()) {
+                            return firstPage.next();
+                        }
+                        throw new RuntimeException("Unable to fetch the next page");
+                    }
+                };
+            }
+
+            @Override
+            protected Session retrieveSession(String sessionId) {
+                remoteCalls.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return session(sessionId, "complete");
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Verify concurrent lookups of one session share a single remote call")
+    public void receiveSession_ConcurrentLookups_LoadsOnce() throws Exception {
+        //Given (Arrange)
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Session>> lookups = new ArrayList<>();
+
+        //When (Act)
+        for (int i = 0; i < 8; i++) {
+            lookups.add(executor.submit(() -> stripeUtil.receiveSession(SESSION_ID)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        Session first = lookups.get(0).get();
+        for (Future<Session> lookup : lookups) {
+            assertSame(first, lookup.get());
+        }
+        executor.shutdown();
+
+        //Then (Assert)
+        assertEquals(1, remoteCalls.get());
+    }
+
+    @Test
+    @DisplayName("Verify cache hits and misses are published as metrics")
+    public void receiveSession_RepeatedLookup_RecordsHitAndMiss() throws Exception {
+        //Given (Arrange)
+        release.countDown();
+
+        //When (Act)
+        stripeUtil.receiveSession(SESSION_ID);
+        stripeUtil.receiveSession(SESSION_ID);
+
+        //Then (Assert)
+        assertEquals(1, remoteCalls.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", "stripe.sessions")
+                .tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", "stripe.sessions")
+                .tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Verify sessions of fetched pages are kept when a later page fails")
+    public void listSessions_WithFailingPage_ReturnsListedSessions() throws Exception {
+        //When (Act)
+        List<Session> actual = stripeUtil.listSessions(0L);
+
+        //Then (Assert)
+        assertEquals(1, actual.size());
+        assertEquals(SESSION_ID, actual.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Verify terminal sessions are kept longer than open ones")
+    public void sessionExpiry_DependsOnStatus() {
+        //Given (Arrange)
+        StripeUtil.SessionExpiry expiry = new StripeUtil.SessionExpiry(OPEN_TTL, TERMINAL_TTL);
+
+        //When (Act)
+        long open = expiry.expireAfterCreate(SESSION_ID, session(SESSION_ID, "open"), 0);
+        long complete = expiry.expireAfterCreate(SESSION_ID,
+                session(SESSION_ID, "complete"), 0);
+        long expired = expiry.expireAfterCreate(SESSION_ID,
+                session(SESSION_ID, "expired"), 0);
+
+        //Then (Assert)
+        assertEquals(OPEN_TTL.toNanos(), open);
+        assertEquals(TERMINAL_TTL.toNanos(), complete);
+        assertEquals(TERMINAL_TTL.toNanos(), expired);
+    }
+
+    private static Session session(String sessionId, String status) {
+        Session session = new Session();
+        session.setId(sessionId);
+        session.setStatus(status);
+        return session;
+    }
+}
@@ -86,21 +86,6 @@ public class BookingSupplier {
                 booking);
     }
 
-    public static List<Booking> getExpiredList() {
-        Booking booking = new Booking()
-                .setId(2L)
-                .setCheckinDate(LocalDate.now())
-                .setCheckoutDate(LocalDate.now().plusDays(1))
-                .setAccommodation(AccommodationSupplier.getAccommodation())
-                .setUser(UserSupplier.getUser())
-                .setStatus(BookingStatus.EXPIRED);
-
-        return List.of(getBooking()
-                        .setCheckoutDate(LocalDate.now().plusDays(1))
-                        .setStatus(BookingStatus.EXPIRED),
-                booking);
-    }
-
     public static BookingDto getBookingDto() {
         return new BookingDto()
                 .setId(1L)
@@ -0,0 +1,45 @@
+package rental.project.supplier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.HexFormat;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.core.io.ClassPathResource;
+
+public class StripeEventSupplier {
+    public static final String WEBHOOK_SECRET = "whsec_test_secret";
+    private static final String SIGNATURE_ALGORITHM = "HmacSHA256";
+
+    public static String getCompletedSessionEvent() {
+        return readFixture("stripe/checkout-session-completed.json");
+    }
+
+    public static String getSignatureHeader(String payload) {
+        return getSignatureHeader(payload, WEBHOOK_SECRET);
+    }
+
+    public static String getSignatureHeader(String payload, String secret) {
+        long timestamp = Instant.now().getEpochSecond();
+        try {
+            Mac mac = Mac.getInstance(SIGNATURE_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8),
+                    SIGNATURE_ALGORITHM));
+            byte[] signature = mac.doFinal((timestamp + "." + payload)
+                    .getBytes(StandardCharsets.UTF_8));
+            return "t=" + timestamp + ",v1=" + HexFormat.of().formatHex(signature);
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Can't sign Stripe event", e);
+        }
+    }
+
+    private static String readFixture(String path) {
+        try {
+            return new ClassPathResource(path).getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Can't read fixture " + path, e);
+        }
+    }
+}
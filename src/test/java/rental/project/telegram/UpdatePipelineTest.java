@@ -0,0 +1,120 @@
+package rental.project.telegram;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class UpdatePipelineTest {
+    private static final int CHATS = 50;
+    private static final int UPDATES_PER_CHAT = 200;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UpdatePipeline updatePipeline;
+
+    @AfterEach
+    void tearDown() {
+        updatePipeline.shutdown();
+    }
+
+    @Test
+    @DisplayName("Verify updates of one chat are handled in order while chats run in parallel")
+    public void submit_WithManyChats_KeepsOrderPerChat() throws Exception {
+        //Given (Arrange)
+        updatePipeline = new UpdatePipeline(meterRegistry, 8, CHATS * UPDATES_PER_CHAT, 100_000);
+        Map<String, List<Integer>> handled = new ConcurrentHashMap<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch firstUpdates = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(CHATS * UPDATES_PER_CHAT);
+
+        //When (Act)
+        for (int i = 0; i < UPDATES_PER_CHAT; i++) {
+            for (int chat = 0; chat < CHATS; chat++) {
+                String chatId = String.valueOf(chat);
+                int sequence = i;
+                boolean meetsOtherChat = i == 0 && chat < 2;
+                updatePipeline.submit(i * CHATS + chat, chatId, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    if (meetsOtherChat) {
+                        awaitOtherChat(firstUpdates);
+                    }
+                    handled.computeIfAbsent(chatId, key -> new ArrayList<>()).add(sequence);
+                    running.decrementAndGet();
+                    done.countDown();
+                });
+            }
+        }
+
+        //Then (Assert)
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        List<Integer> expected = IntStream.range(0, UPDATES_PER_CHAT).boxed().toList();
+        handled.values().forEach(sequences -> assertEquals(expected, sequences));
+        assertEquals(CHATS, handled.size());
+        assertTrue(maxRunning.get() > 1);
+    }
+
+    @Test
+    @DisplayName("Verify redelivered update is handled once")
+    public void submit_WithDuplicateUpdateId_SkipsDuplicate() throws Exception {
+        //Given (Arrange)
+        updatePipeline = new UpdatePipeline(meterRegistry, 2, 100, 100);
+        CountDownLatch handled = new CountDownLatch(1);
+
+        //When (Act)
+        boolean first = updatePipeline.submit(42, "1", handled::countDown);
+        boolean second = updatePipeline.submit(42, "1", handled::countDown);
+
+        //Then (Assert)
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.get("telegram.updates.skipped")
+                .tag("reason", "duplicate").counter().count());
+    }
+
+    @Test
+    @DisplayName("Verify updates over capacity are rejected")
+    public void submit_WithFullPipeline_RejectsUpdate() throws Exception {
+        //Given (Arrange)
+        updatePipeline = new UpdatePipeline(meterRegistry, 1, 1, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        updatePipeline.submit(1, "1", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        //When (Act)
+        boolean accepted = updatePipeline.submit(2, "2", () -> { });
+
+        //Then (Assert)
+        release.countDown();
+        assertFalse(accepted);
+        assertEquals(1, meterRegistry.get("telegram.updates.skipped")
+                .tag("reason", "rejected").counter().count());
+    }
+
+    private static void awaitOtherChat(CountDownLatch firstUpdates) {
+        firstUpdates.countDown();
+        try {
+            firstUpdates.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
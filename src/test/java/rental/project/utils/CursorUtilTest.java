@@ -0,0 +1,82 @@
+package rental.project.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rental.project.dto.page.CursorPageDto;
+import rental.project.exception.InvalidCursorException;
+
+public class CursorUtilTest {
+    @Test
+    @DisplayName("Verify encoded keys are decoded back")
+    public void decode_WithEncodedCursor_ReturnsKeys() {
+        //Given (Arrange)
+        String cursor = CursorUtil.encode(LocalDate.of(2025, 3, 1), 42L);
+
+        //When (Act)
+        List<String> keys = CursorUtil.decode(cursor, 2, List::of);
+
+        //Then (Assert)
+        assertEquals(List.of("2025-03-01", "42"), keys);
+    }
+
+    @Test
+    @DisplayName("Verify missing cursor means the first page")
+    public void decode_WithBlankCursor_ReturnsNull() {
+        assertNull(CursorUtil.decode(null, 1, keys -> Long.valueOf(keys[0])));
+        assertNull(CursorUtil.decode(" ", 1, keys -> Long.valueOf(keys[0])));
+    }
+
+    @Test
+    @DisplayName("Exception thrown by using tampered cursor")
+    public void decode_WithTamperedCursor_ThrowsException() {
+        //Given (Arrange)
+        Function<String[], Long> parser = keys -> Long.valueOf(keys[0]);
+
+        //When (Act)
+        InvalidCursorException exception = assertThrows(InvalidCursorException.class,
+                () -> CursorUtil.decode("%%%", 1, parser));
+
+        //Then (Assert)
+        assertEquals("Invalid cursor: %%%", exception.getMessage());
+        assertThrows(InvalidCursorException.class,
+                () -> CursorUtil.decode(CursorUtil.encode("abc"), 1, parser));
+        assertThrows(InvalidCursorException.class,
+                () -> CursorUtil.decode(CursorUtil.encode(1L, 2L), 1, parser));
+    }
+
+    @Test
+    @DisplayName("Verify page drops the extra row and points the cursor at the last one")
+    public void page_WithExtraRow_ReturnsNextCursor() {
+        //Given (Arrange)
+        List<Long> rows = List.of(1L, 2L, 3L);
+
+        //When (Act)
+        CursorPageDto<String> page = CursorUtil.page(rows, 2, String::valueOf,
+                CursorUtil::encode);
+
+        //Then (Assert)
+        assertEquals(List.of("1", "2"), page.content());
+        assertEquals(2L, CursorUtil.<Long>decode(page.nextCursor(), 1,
+                keys -> Long.valueOf(keys[0])));
+        assertEquals(3, CursorUtil.seekLimit(2).getPageSize());
+    }
+
+    @Test
+    @DisplayName("Verify last page has no next cursor")
+    public void page_WithoutExtraRow_ReturnsNoCursor() {
+        //When (Act)
+        CursorPageDto<String> page = CursorUtil.page(List.of(1L, 2L), 2, String::valueOf,
+                CursorUtil::encode);
+
+        //Then (Assert)
+        assertEquals(List.of("1", "2"), page.content());
+        assertNull(page.nextCursor());
+    }
+}
@@ -0,0 +1,40 @@
+package rental.project.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import rental.project.dto.version.EntityVersionDto;
+
+public class ETagUtilTest {
+    @Test
+    @DisplayName("Verify list tag changes when an element is changed, removed or moved")
+    public void of_WithChangedList_ReturnsDifferentTag() {
+        //Given (Arrange)
+        List<EntityVersionDto> versions = List.of(new EntityVersionDto(1L, 0),
+                new EntityVersionDto(2L, 0));
+
+        //When (Act)
+        String tag = ETagUtil.of(versions);
+
+        //Then (Assert)
+        assertEquals(tag, ETagUtil.of(List.copyOf(versions)));
+        assertNotEquals(tag, ETagUtil.of(List.of(new EntityVersionDto(1L, 1),
+                new EntityVersionDto(2L, 0))));
+        assertNotEquals(tag, ETagUtil.of(List.of(new EntityVersionDto(1L, 0))));
+        assertNotEquals(tag, ETagUtil.of(List.of(new EntityVersionDto(2L, 0),
+                new EntityVersionDto(1L, 0))));
+    }
+
+    @Test
+    @DisplayName("Verify single entity tag is quoted id and versions")
+    public void of_WithIdAndVersions_ReturnsQuotedTag() {
+        //When (Act)
+        String tag = ETagUtil.of(5L, 2L, 9L);
+
+        //Then (Assert)
+        assertEquals("\"5-2-9\"", tag);
+    }
+}
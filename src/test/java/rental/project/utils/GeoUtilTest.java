@@ -0,0 +1,56 @@
+package rental.project.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class GeoUtilTest {
+    @Test
+    @DisplayName("Verify distance between two known cities")
+    public void distanceKm_BetweenKyivAndLviv_ReturnsGreatCircleDistance() {
+        //When (Act)
+        double actual = GeoUtil.distanceKm(50.4501, 30.5234, 49.8397, 24.0297);
+
+        //Then (Assert)
+        assertEquals(468, actual, 2);
+    }
+
+    @Test
+    @DisplayName("Verify bounding box holds every point of the circle")
+    public void boundingBox_WithRadius_ContainsCircle() {
+        //Given (Arrange)
+        double latitude = 50.0;
+        double longitude = 15.0;
+        double radiusKm = 100;
+
+        //When (Act)
+        GeoUtil.BoundingBox box = GeoUtil.boundingBox(latitude, longitude, radiusKm);
+
+        //Then (Assert)
+        for (int bearing = 0; bearing < 360; bearing += 15) {
+            double angle = Math.toRadians(bearing);
+            double pointLatitude = latitude + Math.toDegrees(radiusKm / 6370.986)
+                    * Math.cos(angle) * 0.999;
+            double pointLongitude = longitude + Math.toDegrees(radiusKm / 6370.986)
+                    / Math.cos(Math.toRadians(latitude)) * Math.sin(angle) * 0.999;
+            assertTrue(pointLatitude >= box.minLatitude()
+                    && pointLatitude <= box.maxLatitude());
+            assertTrue(pointLongitude >= box.minLongitude()
+                    && pointLongitude <= box.maxLongitude());
+        }
+    }
+
+    @Test
+    @DisplayName("Verify bounding box spans all longitudes near a pole")
+    public void boundingBox_NearPole_SpansAllLongitudes() {
+        //When (Act)
+        GeoUtil.BoundingBox box = GeoUtil.boundingBox(89.9, 10, 50);
+
+        //Then (Assert)
+        assertEquals(-180, box.minLongitude());
+        assertEquals(180, box.maxLongitude());
+        assertEquals(90, box.maxLatitude());
+    }
+}
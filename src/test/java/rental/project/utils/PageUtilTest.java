@@ -0,0 +1,39 @@
+package rental.project.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+public class PageUtilTest {
+    @Test
+    @DisplayName("Verify id is added after the requested sort")
+    public void orderedById_WithSort_AddsIdTiebreaker() {
+        //Given (Arrange)
+        Pageable pageable = PageRequest.of(2, 10, Sort.by(Sort.Direction.DESC, "checkinDate"));
+
+        //When (Act)
+        Pageable actual = PageUtil.orderedById(pageable);
+
+        //Then (Assert)
+        assertEquals(PageRequest.of(2, 10, Sort.by(Sort.Order.desc("checkinDate"),
+                Sort.Order.asc("id"))), actual);
+    }
+
+    @Test
+    @DisplayName("Verify page already sorted by id is kept")
+    public void orderedById_WithIdSort_ReturnsSamePage() {
+        //Given (Arrange)
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id"));
+
+        //When (Act)
+        Pageable actual = PageUtil.orderedById(pageable);
+
+        //Then (Assert)
+        assertSame(pageable, actual);
+    }
+}
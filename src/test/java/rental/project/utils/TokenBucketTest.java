@@ -0,0 +1,47 @@
+package rental.project.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("Verify burst is limited by capacity")
+    public void tryAcquire_WithEmptyBucket_ReturnsWaitTime() {
+        //Given (Arrange)
+        TokenBucket bucket = new TokenBucket(2, 1, clock::get);
+
+        //When (Act)
+        long first = bucket.tryAcquire();
+        long second = bucket.tryAcquire();
+        long third = bucket.tryAcquire();
+
+        //Then (Assert)
+        assertEquals(0, first);
+        assertEquals(0, second);
+        assertEquals(TimeUnit.SECONDS.toNanos(1), third);
+    }
+
+    @Test
+    @DisplayName("Verify tokens are refilled over time without exceeding capacity")
+    public void tryAcquire_AfterWaiting_RefillsUpToCapacity() {
+        //Given (Arrange)
+        TokenBucket bucket = new TokenBucket(2, 4, clock::get);
+        bucket.tryAcquire();
+        bucket.tryAcquire();
+
+        //When (Act)
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        //Then (Assert)
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+}
@@ -1 +1,2 @@
-DELETE FROM bookings;
\ No newline at end of file
+DELETE FROM bookings;
+DELETE FROM accommodation_occupancy;
\ No newline at end of file
@@ -1,5 +1,10 @@
+DELETE FROM stripe_events;
+DELETE FROM outbox_events;
+DELETE FROM telegram_deliveries;
+DELETE FROM telegram_digest_entries;
 DELETE FROM payments;
 DELETE FROM bookings;
+DELETE FROM accommodation_occupancy;
 DELETE FROM accommodations;
 DELETE FROM bookings;
 DELETE FROM telegram_users_data;
@@ -0,0 +1,9 @@
+INSERT INTO accommodation_occupancy (
+    accommodation_id, occupancy_date, booked_units
+) VALUES
+      (
+          1, DATE_ADD(CURDATE(), INTERVAL 1 DAY), 2
+      ),
+      (
+          3, DATE_ADD(CURDATE(), INTERVAL 1 DAY), 2
+      );
\ No newline at end of file
@@ -0,0 +1 @@
+DELETE FROM accommodation_occupancy;
\ No newline at end of file
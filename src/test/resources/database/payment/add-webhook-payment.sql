@@ -0,0 +1,12 @@
+INSERT INTO payments (
+    id, status, booking_id, session_url, session_id, amount, is_deleted
+)
+VALUES (
+           5,
+           'PENDING',
+           2,
+           'https://checkout.stripe.com/c/pay/cs_test_a1h8',
+           'cs_test_a1h8',
+           125.55,
+           false
+       );
\ No newline at end of file
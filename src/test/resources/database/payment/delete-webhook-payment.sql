@@ -0,0 +1,2 @@
+DELETE FROM stripe_events;
+DELETE FROM payments WHERE id = 5;
\ No newline at end of file